@@ -0,0 +1,54 @@
+package me.zero.expressions.benchmark;
+
+import me.zero.expressions.expression.evaluate.CompiledExpression;
+import me.zero.expressions.expression.evaluate.ExpressionEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures turning source text into an executable statement: tokenizing, parsing, simplification and common
+ * subexpression elimination, with and without generating bytecode. Also measures loading the same statement from its
+ * binary encoding, which skips tokenizing and parsing.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CompileBenchmark {
+
+    @Param
+    private Formula formula;
+
+    private ExpressionEngine engine;
+    private String source;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        this.engine = Formula.createEngine();
+        this.source = this.formula.getSource();
+        this.encoded = this.engine.compile(this.source).encode();
+    }
+
+    @Benchmark
+    public CompiledExpression compile() {
+        return this.engine.compile(this.source);
+    }
+
+    @Benchmark
+    public CompiledExpression compileBytecode() {
+        return this.engine.compile(this.source).toBytecode();
+    }
+
+    @Benchmark
+    public CompiledExpression decode() {
+        return this.engine.decode(ByteBuffer.wrap(this.encoded));
+    }
+}
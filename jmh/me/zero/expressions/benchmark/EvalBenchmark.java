@@ -0,0 +1,105 @@
+package me.zero.expressions.benchmark;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.evaluate.BatchEvaluator;
+import me.zero.expressions.expression.evaluate.Evaluable;
+import me.zero.expressions.expression.evaluate.Gradient;
+import me.zero.expressions.expression.evaluate.GradientEvaluator;
+import me.zero.expressions.expression.evaluate.Interval;
+import me.zero.expressions.expression.evaluate.IntervalEvaluator;
+import me.zero.expressions.expression.evaluate.bytecode.BytecodeCompiler;
+import me.zero.expressions.expression.evaluate.interpreter.Program;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluating an already compiled formula with each backend. The batch benchmark evaluates {@link #ROWS}
+ * rows per invocation, with the formula's variables bound to columns. The interval benchmark bounds the formula over
+ * a range of {@code x} and {@code y}.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EvalBenchmark {
+
+    private static final int ROWS = 4096;
+
+    @Param
+    private Formula formula;
+
+    private Evaluator evaluator;
+    private Expression tree;
+    private Evaluable bytecode;
+    private Evaluable program;
+
+    private GradientEvaluator gradient;
+    private IntervalEvaluator interval;
+    private Interval[] bounds;
+    private BatchEvaluator batch;
+    private double[][] columns;
+    private double[] output;
+
+    @Setup
+    public void setup() {
+        var engine = Formula.createEngine();
+        var compiled = engine.compile(this.formula.getSource());
+        this.evaluator = engine.getEvaluator();
+        this.tree = compiled.getExpression();
+        this.bytecode = BytecodeCompiler.compile(this.tree);
+        this.program = Program.compile(this.tree);
+
+        this.gradient = new GradientEvaluator(this.evaluator);
+        this.interval = new IntervalEvaluator(this.evaluator);
+        this.bounds = this.interval.bind(Map.of("x", Interval.of(1.0d, 1.5d), "y", Interval.of(2.25d, 2.75d)));
+        this.batch = new BatchEvaluator(this.evaluator);
+        var x = new double[ROWS];
+        var y = new double[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            x[i] = i * 0.25;
+            y[i] = ROWS - i * 0.5;
+        }
+        this.columns = this.batch.bind(Map.of("x", x, "y", y));
+        this.output = new double[ROWS];
+    }
+
+    @Benchmark
+    public double tree() {
+        return this.evaluator.evaluate(this.tree);
+    }
+
+    @Benchmark
+    public double bytecode() {
+        return this.evaluator.evaluate(this.bytecode);
+    }
+
+    @Benchmark
+    public double program() {
+        return this.evaluator.evaluate(this.program);
+    }
+
+    @Benchmark
+    public Gradient gradient() {
+        return this.gradient.evaluate(this.tree);
+    }
+
+    @Benchmark
+    public Interval interval() {
+        return this.interval.evaluate(this.tree, this.bounds);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] batch() {
+        this.batch.evaluate(this.tree, this.columns, this.output, 0, ROWS);
+        return this.output;
+    }
+}
@@ -0,0 +1,55 @@
+package me.zero.expressions.benchmark;
+
+import me.zero.expressions.expression.evaluate.ExpressionEngine;
+
+import java.util.List;
+
+/**
+ * The corpus shared by every benchmark, one formula per shape that stresses a different part of the pipeline.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public enum Formula {
+    /**
+     * The examples from {@code Main}.
+     */
+    MAIN("g(2,2)f(3,3,3)-3^4"),
+    LITERAL("1.5*2.25+3.75/0.5-4.125^2+6*(7.5-8.25)/9+10.5-11.75*12.5/13.25+14^0.5"),
+    VARIABLE("x*y+z/w-x*z+y^2-w*x+y*z/x-w/y+z*z-x^w"),
+    NESTED("((((x+1)*(y-2))/((z+3)*(x-4)))^2+(((y+5)/(z-6))*((x+7)/(y-8))))/(((w+9)-(x*(y+(z*(w+1))))))"),
+    CALL("f(x,y,z)+g(x,y)*g(y,z)-h(f(1,2,3))+h(h(x))-f(h(y),g(z,w),h(h(w)))"),
+    BUILTIN("sqrt(x*x+y*y)+sin(z)*cos(w)-max(x,abs(z))+exp(y/w)-log(w)");
+
+    /**
+     * Statements evaluated before benchmarking, defining every variable and function used by the corpus.
+     */
+    private static final List<String> SETUP = List.of(
+        "g(x,y)=x^2y^2",
+        "f(x,y,z)=xyz",
+        "h(t)=t/2+1",
+        "x=1.25",
+        "y=2.5",
+        "z=-3.75",
+        "w=4.5"
+    );
+
+    private final String source;
+
+    Formula(String source) {
+        this.source = source;
+    }
+
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * @return An engine with every definition used by the corpus
+     */
+    public static ExpressionEngine createEngine() {
+        var engine = new ExpressionEngine();
+        SETUP.forEach(engine::eval);
+        return engine;
+    }
+}
@@ -0,0 +1,67 @@
+package me.zero.expressions.benchmark;
+
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.evaluate.BatchEvaluator;
+import me.zero.expressions.expression.evaluate.ParallelEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluating a formula over {@link #ROWS} rows with a single {@link BatchEvaluator}, compared to splitting the
+ * rows between the threads of the common pool with a {@link ParallelEvaluator}. Scores are per row.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParallelBenchmark {
+
+    private static final int ROWS = 4 * 1024 * 1024;
+
+    @Param({ "VARIABLE", "NESTED", "CALL" })
+    private Formula formula;
+
+    private Expression tree;
+    private BatchEvaluator batch;
+    private ParallelEvaluator parallel;
+    private double[][] columns;
+    private double[] output;
+
+    @Setup
+    public void setup() {
+        var engine = Formula.createEngine();
+        this.tree = engine.compile(this.formula.getSource()).getExpression();
+        this.batch = new BatchEvaluator(engine.getEvaluator());
+        this.parallel = new ParallelEvaluator(engine);
+
+        var x = new double[ROWS];
+        var y = new double[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            x[i] = i * 0.25;
+            y[i] = ROWS - i * 0.5;
+        }
+        this.columns = this.batch.bind(Map.of("x", x, "y", y));
+        this.output = new double[ROWS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] batch() {
+        this.batch.evaluate(this.tree, this.columns, this.output, 0, ROWS);
+        return this.output;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] parallel() {
+        this.parallel.evaluate(this.tree, this.columns, this.output, 0, ROWS);
+        return this.output;
+    }
+}
@@ -0,0 +1,58 @@
+package me.zero.expressions.benchmark;
+
+import me.zero.expressions.expression.evaluate.ExpressionEngine;
+import me.zero.expressions.expression.evaluate.ScriptLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a script of {@link #LINES} function definitions into a new engine, one line at a time through
+ * {@link ExpressionEngine#eval(String)} compared to parsing the lines in parallel with a {@link ScriptLoader}. Scores
+ * are per line.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScriptBenchmark {
+
+    private static final int LINES = 10_000;
+
+    private List<String> script;
+
+    @Setup
+    public void setup() {
+        var alphabet = "abcdefghijklmnopqrstuvwxyz";
+        this.script = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            var name = "f" + alphabet.charAt(i % 26) + alphabet.charAt(i / 26 % 26) + alphabet.charAt(i / 676 % 26);
+            this.script.add(name + "(x,y)=x^2y^2+" + i % 7 + "*sin(x)-y/" + (1 + i % 5));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public ExpressionEngine sequential() {
+        var engine = new ExpressionEngine();
+        for (var line : this.script) {
+            engine.eval(line);
+        }
+        return engine;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public ExpressionEngine loader() {
+        var engine = new ExpressionEngine();
+        new ScriptLoader(engine).load(this.script);
+        return engine;
+    }
+}
@@ -0,0 +1,43 @@
+package me.zero.expressions.benchmark;
+
+import me.zero.expressions.tokenizer.Token;
+import me.zero.expressions.tokenizer.Tokenizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Brady
+ * @since 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TokenizerBenchmark {
+
+    @Param
+    private Formula formula;
+
+    private String source;
+    private List<Token> tokens;
+
+    @Setup
+    public void setup() {
+        this.source = this.formula.getSource();
+        this.tokens = Tokenizer.tokenize(this.source);
+    }
+
+    @Benchmark
+    public List<Token> tokenize() {
+        return Tokenizer.tokenize(this.source);
+    }
+
+    @Benchmark
+    public List<Token> convertToPostfix() {
+        return Tokenizer.convertToPostfix(this.tokens);
+    }
+}
@@ -1,4 +1,10 @@
 import me.zero.expressions.expression.evaluate.ExpressionEngine;
+import me.zero.expressions.expression.evaluate.file.FileEvaluator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author Brady
@@ -6,7 +12,12 @@ import me.zero.expressions.expression.evaluate.ExpressionEngine;
  */
 public class Main {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            evaluateFile(args);
+            return;
+        }
+
         var engine = new ExpressionEngine();
 
         System.out.println(engine.eval("g(x,y)=x^2y^2"));
@@ -17,4 +28,42 @@ public class Main {
         System.out.println(engine.eval("g(2,2)f(3,3,3)"));
         System.out.println(engine.eval("-3^4"));
     }
+
+    /**
+     * Evaluates an expression for every row of a data file. Any statements preceding the expression, such as function
+     * definitions, are evaluated first.
+     *
+     * <pre>
+     * Main [statement...] expression input output [--columns name,name,...]
+     * </pre>
+     *
+     * The input is read as CSV unless column names are provided, in which case it's read as raw little-endian
+     * doubles with the named columns stored in order within each row.
+     */
+    private static void evaluateFile(String[] args) throws IOException {
+        List<String> columns = null;
+        if (args.length >= 2 && args[args.length - 2].equals("--columns")) {
+            columns = Arrays.stream(args[args.length - 1].split(",")).map(String::strip).toList();
+            args = Arrays.copyOf(args, args.length - 2);
+        }
+        if (args.length < 3) {
+            System.err.println("Usage: Main [statement...] <expression> <input> <output> [--columns name,name,...]");
+            System.exit(1);
+        }
+
+        var engine = new ExpressionEngine();
+        for (int i = 0; i < args.length - 3; i++) {
+            engine.eval(args[i]);
+        }
+        var expression = engine.compile(args[args.length - 3]);
+        var input = Path.of(args[args.length - 2]);
+        var output = Path.of(args[args.length - 1]);
+        var evaluator = new FileEvaluator(engine);
+
+        var start = System.nanoTime();
+        var rows = columns != null
+            ? evaluator.evaluateBinary(expression, input, columns, output)
+            : evaluator.evaluateCsv(expression, input, output);
+        System.err.printf("Evaluated %d rows in %.1f ms%n", rows, (System.nanoTime() - start) / 1e6);
+    }
 }
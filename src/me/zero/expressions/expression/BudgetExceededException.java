@@ -0,0 +1,88 @@
+package me.zero.expressions.expression;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * Thrown when an evaluation runs out of its {@link EvaluationBudget} or is cancelled. Carries the state of the
+ * evaluation at the point it was stopped, so that the offending function can be identified.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class BudgetExceededException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // Innermost calls named in the message, the full stack is available from getCallStack()
+    private static final int MESSAGE_CALLS = 8;
+
+    private final Limit limit;
+    private final long calls;
+    private final List<String> callStack;
+
+    /**
+     * @param limit     The limit that was reached
+     * @param budget    The budget of the evaluation
+     * @param calls     The number of calls made by the evaluation, including the one being made
+     * @param callStack The names of the active functions, starting with the one being called
+     */
+    public BudgetExceededException(Limit limit, EvaluationBudget budget, long calls, List<String> callStack) {
+        super(message(limit, budget, callStack));
+        this.limit = limit;
+        this.calls = calls;
+        this.callStack = List.copyOf(callStack);
+    }
+
+    public Limit getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * @return The number of calls made by the evaluation, including the one being made when it was stopped
+     */
+    public long getCalls() {
+        return this.calls;
+    }
+
+    /**
+     * @return The depth of calls when the evaluation was stopped, not counting the call that was being made. An
+     *         evaluation stopped for exceeding its maximum depth reports that maximum.
+     */
+    public int getDepth() {
+        return Math.max(this.callStack.size() - 1, 0);
+    }
+
+    /**
+     * @return The names of the active functions when the evaluation was stopped, starting with the call that was being
+     *         made
+     */
+    public List<String> getCallStack() {
+        return this.callStack;
+    }
+
+    private static String message(Limit limit, EvaluationBudget budget, List<String> callStack) {
+        var sb = new StringBuilder(switch (limit) {
+            case CALLS -> "Exceeded maximum of " + budget.getMaxCalls() + " calls";
+            case DEPTH -> "Exceeded maximum call depth of " + budget.getMaxDepth();
+            case TIMEOUT -> "Exceeded timeout of " + budget.getTimeoutNanos() / 1_000_000L + " ms";
+            case CANCELLED -> "Evaluation was cancelled";
+        });
+        if (!callStack.isEmpty()) {
+            sb.append(" calling ").append(String.join(" <- ", callStack.subList(0, Math.min(MESSAGE_CALLS,
+                    callStack.size()))));
+            if (callStack.size() > MESSAGE_CALLS) {
+                sb.append(" <- ... (").append(callStack.size() - MESSAGE_CALLS).append(" more)");
+            }
+        }
+        return sb.toString();
+    }
+
+    public enum Limit {
+        CALLS,
+        DEPTH,
+        TIMEOUT,
+        CANCELLED
+    }
+}
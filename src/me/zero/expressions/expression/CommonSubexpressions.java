@@ -0,0 +1,176 @@
+package me.zero.expressions.expression;
+
+import me.zero.expressions.expression.ast.*;
+
+import java.util.*;
+
+/**
+ * Hash-conses an expression into a DAG of unique nodes, then hoists every compound node that is referenced more than
+ * once into a {@link Let} binding so that it's computed once per evaluation. Expressions are pure, so results are
+ * unaffected; only the order in which shared subexpressions are computed changes.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class CommonSubexpressions {
+
+    private CommonSubexpressions() {}
+
+    /**
+     * @param expression The expression
+     * @param slot       The first free slot of the frame the expression is evaluated in, which is the number of
+     *                   arguments for a function body and {@code 0} for a top-level expression
+     * @return An equivalent expression, with shared subexpressions bound by a root {@link Let}
+     */
+    public static Expression eliminate(Expression expression, int slot) {
+        if (expression instanceof Let) {
+            return expression;
+        }
+
+        var interner = new Interner();
+        var root = interner.transform(expression);
+
+        var uses = new IdentityHashMap<Expression, Integer>();
+        countUses(root, uses);
+
+        var hoister = new Hoister(uses, slot);
+        var body = hoister.transform(root);
+        if (hoister.bindings.isEmpty()) {
+            return root;
+        }
+        return new Let(List.copyOf(hoister.bindings), slot, body);
+    }
+
+    private static void countUses(Expression node, Map<Expression, Integer> uses) {
+        for (var child : children(node)) {
+            // Only descend the first time a node is reached, each edge of the DAG is counted exactly once
+            if (uses.merge(child, 1, Integer::sum) == 1) {
+                countUses(child, uses);
+            }
+        }
+    }
+
+    private static List<Expression> children(Expression node) {
+        var children = new ArrayList<Expression>();
+        node.accept(new ExpressionTransformer() {
+            @Override
+            public Expression transform(Expression expression) {
+                if (expression == node) {
+                    return expression.accept(this);
+                }
+                children.add(expression);
+                return expression;
+            }
+        });
+        return children;
+    }
+
+    private static final class Interner extends ExpressionTransformer {
+
+        private final Map<List<Object>, Expression> canonical = new HashMap<>();
+        private final Map<Expression, Integer> ids = new IdentityHashMap<>();
+
+        @Override
+        public Expression transform(Expression expression) {
+            // Children are interned first, so they can be keyed by identity rather than compared structurally
+            var rebuilt = expression.accept(this);
+            var key = this.key(rebuilt);
+            var existing = this.canonical.putIfAbsent(key, rebuilt);
+            if (existing != null) {
+                return existing;
+            }
+            this.ids.put(rebuilt, this.ids.size());
+            return rebuilt;
+        }
+
+        private List<Object> key(Expression node) {
+            return node.accept(new ExpressionVisitor<>() {
+                @Override
+                public List<Object> visit(Literal literal) {
+                    return List.of(Literal.class, Double.doubleToRawLongBits(literal.value()));
+                }
+
+                @Override
+                public List<Object> visit(Variable variable) {
+                    return List.of(Variable.class, variable.slot());
+                }
+
+                @Override
+                public List<Object> visit(LocalVariable variable) {
+                    return List.of(LocalVariable.class, variable.slot());
+                }
+
+                @Override
+                public List<Object> visit(AddSubtract addSubtract) {
+                    return List.of(AddSubtract.class, ids(addSubtract.add()), ids(addSubtract.subtract()));
+                }
+
+                @Override
+                public List<Object> visit(MultiplyDivide multiplyDivide) {
+                    return List.of(MultiplyDivide.class, ids(multiplyDivide.multiply()), ids(multiplyDivide.divide()));
+                }
+
+                @Override
+                public List<Object> visit(Exponent exponent) {
+                    return List.of(Exponent.class, ids(List.of(exponent.base(), exponent.power())));
+                }
+
+                @Override
+                public List<Object> visit(RuntimeFunction function) {
+                    return List.of(RuntimeFunction.class, function.slot(), ids(function.args()));
+                }
+
+                @Override
+                public List<Object> visit(BuiltinFunction function) {
+                    return List.of(BuiltinFunction.class, function.function(), ids(function.args()));
+                }
+
+                @Override
+                public List<Object> visit(Let let) {
+                    throw new IllegalStateException("Let can only appear at the root of an expression");
+                }
+            });
+        }
+
+        private List<Integer> ids(Collection<Expression> children) {
+            return children.stream().map(this.ids::get).toList();
+        }
+    }
+
+    private static final class Hoister extends ExpressionTransformer {
+
+        private final Map<Expression, Integer> uses;
+        private final int slot;
+        private final Map<Expression, Expression> temps = new IdentityHashMap<>();
+        private final List<Expression> bindings = new ArrayList<>();
+
+        private Hoister(Map<Expression, Integer> uses, int slot) {
+            this.uses = uses;
+            this.slot = slot;
+        }
+
+        @Override
+        public Expression transform(Expression expression) {
+            var temp = this.temps.get(expression);
+            if (temp != null) {
+                return temp;
+            }
+
+            // Dependencies are hoisted before the node itself, so bindings only ever read earlier slots
+            var rebuilt = expression.accept(this);
+            if (this.uses.getOrDefault(expression, 0) < 2 || !isCompound(expression)) {
+                return rebuilt;
+            }
+
+            var index = this.slot + this.bindings.size();
+            this.bindings.add(rebuilt);
+            temp = new LocalVariable("$" + index, index);
+            this.temps.put(expression, temp);
+            return temp;
+        }
+
+        private static boolean isCompound(Expression expression) {
+            return !(expression instanceof Literal || expression instanceof Variable || expression instanceof LocalVariable);
+        }
+    }
+}
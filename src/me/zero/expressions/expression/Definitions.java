@@ -0,0 +1,324 @@
+package me.zero.expressions.expression;
+
+import me.zero.expressions.expression.ast.RuntimeFunction;
+import me.zero.expressions.expression.ast.Variable;
+import me.zero.expressions.provider.Builtin;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * The global variables and functions shared by every {@link Evaluator} of an engine. Definitions are published as
+ * immutable {@link Snapshot}s and every update copies the affected array, so any number of threads can evaluate
+ * against a snapshot without locking while another thread redefines a variable or function.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class Definitions {
+
+    /**
+     * The number of results retained per evaluator by {@link #memoize(String)}.
+     */
+    public static final int DEFAULT_MEMO_CAPACITY = 1024;
+
+    private static final int MAX_MEMO_CAPACITY = 1 << 24;
+
+    // TODO: Default globals
+    private final SymbolTable globalSymbols;
+    private final SymbolTable functionSymbols;
+    private final List<IntConsumer> functionListeners;
+    private final List<BiConsumer<Snapshot, int[]>> functionValidators;
+    private volatile Snapshot snapshot;
+
+    public Definitions() {
+        this.globalSymbols = new SymbolTable();
+        this.functionSymbols = new SymbolTable();
+        this.functionListeners = new CopyOnWriteArrayList<>();
+        this.functionValidators = new CopyOnWriteArrayList<>();
+        this.snapshot = new Snapshot(new double[0], new boolean[0], new FunctionDescriptor[0], new int[0]);
+    }
+
+    /**
+     * @return The most recently published definitions
+     */
+    public Snapshot snapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Resolves the slot of a global variable, assigning one if the name hasn't been referenced before. The variable
+     * doesn't need to be defined yet; reading an undefined slot fails at evaluation time.
+     *
+     * @param identifier The variable name
+     * @return The global slot
+     */
+    public int globalSlot(String identifier) {
+        return this.globalSymbols.intern(identifier);
+    }
+
+    /**
+     * Resolves the slot of a function, assigning one if the name hasn't been referenced before. Calls go through the
+     * slot, so redefining a function is visible to every expression that was built against the old definition.
+     *
+     * @param name The function name
+     * @return The function slot
+     */
+    public int functionSlot(String name) {
+        return this.functionSymbols.intern(name);
+    }
+
+    public SymbolTable getGlobalSymbols() {
+        return this.globalSymbols;
+    }
+
+    public SymbolTable getFunctionSymbols() {
+        return this.functionSymbols;
+    }
+
+    public synchronized void setGlobal(int slot, double value) {
+        var current = this.snapshot;
+        var length = Math.max(current.globals.length, slot + 1);
+        var globals = Arrays.copyOf(current.globals, length);
+        var defined = Arrays.copyOf(current.defined, length);
+        globals[slot] = value;
+        defined[slot] = true;
+        this.snapshot = new Snapshot(globals, defined, current.functions, current.memoCapacities);
+    }
+
+    /**
+     * Defines several global variables at once. Only a single snapshot is published, so this is considerably cheaper
+     * than setting each variable individually, and no evaluator observes some of the values without the others.
+     *
+     * @param slots  The global slots
+     * @param values The value of each slot
+     */
+    public synchronized void setGlobals(int[] slots, double[] values) {
+        if (slots.length != values.length) {
+            throw new IllegalArgumentException("Slots and values must have the same length");
+        }
+        var current = this.snapshot;
+        var length = current.globals.length;
+        for (var slot : slots) {
+            length = Math.max(length, slot + 1);
+        }
+        var globals = Arrays.copyOf(current.globals, length);
+        var defined = Arrays.copyOf(current.defined, length);
+        for (int i = 0; i < slots.length; i++) {
+            globals[slots[i]] = values[i];
+            defined[slots[i]] = true;
+        }
+        this.snapshot = new Snapshot(globals, defined, current.functions, current.memoCapacities);
+    }
+
+    public void addFunction(String name, List<String> args, Expression body) {
+        this.addFunction(name, FunctionDescriptor.of(args, body));
+    }
+
+    public void addFunction(String name, FunctionDescriptor function) {
+        this.addFunctions(Map.of(name, function));
+    }
+
+    /**
+     * Defines several functions at once. Only a single snapshot is published, so this is considerably cheaper than
+     * defining each function individually. Validators are run before anything is published, and listeners are
+     * notified once per function afterwards.
+     *
+     * @param functions The functions, keyed by name
+     * @throws IllegalArgumentException If a function is built-in, or a validator rejects the new definitions
+     */
+    public void addFunctions(Map<String, FunctionDescriptor> functions) {
+        for (var name : functions.keySet()) {
+            if (Builtin.getByName(name).isPresent()) {
+                throw new IllegalArgumentException("Cannot redefine built-in function " + name);
+            }
+        }
+        var slots = new int[functions.size()];
+        var descriptors = new FunctionDescriptor[functions.size()];
+        var length = 0;
+        var i = 0;
+        for (var entry : functions.entrySet()) {
+            slots[i] = this.functionSlot(entry.getKey());
+            descriptors[i] = entry.getValue();
+            length = Math.max(length, slots[i] + 1);
+            i++;
+        }
+        while (true) {
+            var current = this.snapshot;
+            var updated = Arrays.copyOf(current.functions, Math.max(current.functions.length, length));
+            for (i = 0; i < slots.length; i++) {
+                updated[slots[i]] = descriptors[i];
+            }
+            var proposed = new Snapshot(current.globals, current.defined, updated, current.memoCapacities);
+            // Validators aren't run under the lock, since they may need to take locks of their own
+            for (var validator : this.functionValidators) {
+                validator.accept(proposed, slots);
+            }
+            synchronized (this) {
+                if (this.snapshot == current) {
+                    this.snapshot = proposed;
+                    break;
+                }
+            }
+        }
+        for (var slot : slots) {
+            for (var listener : this.functionListeners) {
+                listener.accept(slot);
+            }
+        }
+    }
+
+    /**
+     * Memoizes a function with the default capacity.
+     *
+     * @param name The function name
+     * @see #memoize(String, int)
+     */
+    public void memoize(String name) {
+        this.memoize(name, DEFAULT_MEMO_CAPACITY);
+    }
+
+    /**
+     * Caches the results of calls to a function, so that repeated calls with the same arguments return without
+     * evaluating the body. Each evaluator keeps its own bounded cache per function, which evicts older results once
+     * it's full and is discarded whenever the function, a function it calls or a global any of them reads changes.
+     * The setting applies to the name, and is retained if the function is redefined.
+     * <p>
+     * Memoized functions are no longer inlined, so this is only worthwhile for bodies that are expensive compared to a
+     * call, and that are frequently called with arguments they've already been called with.
+     *
+     * @param name     The function name
+     * @param capacity The maximum number of results cached per evaluator, or {@code 0} to stop memoizing
+     */
+    public void memoize(String name, int capacity) {
+        if (capacity < 0 || capacity > MAX_MEMO_CAPACITY) {
+            throw new IllegalArgumentException("Memo capacity must be between 0 and " + MAX_MEMO_CAPACITY);
+        }
+        if (Builtin.getByName(name).isPresent()) {
+            throw new IllegalArgumentException("Cannot memoize built-in function " + name);
+        }
+        var slot = this.functionSlot(name);
+        synchronized (this) {
+            var current = this.snapshot;
+            var capacities = Arrays.copyOf(current.memoCapacities, Math.max(current.memoCapacities.length, slot + 1));
+            capacities[slot] = capacity;
+            this.snapshot = new Snapshot(current.globals, current.defined, current.functions, capacities);
+        }
+        // Compiled expressions that inlined the function are relinked so that their calls go through the cache
+        for (var listener : this.functionListeners) {
+            listener.accept(slot);
+        }
+    }
+
+    /**
+     * Registers a listener that is notified with the function slot whenever a function is defined or redefined.
+     *
+     * @param listener The listener
+     */
+    public void addFunctionListener(IntConsumer listener) {
+        this.functionListeners.add(listener);
+    }
+
+    public void removeFunctionListener(IntConsumer listener) {
+        this.functionListeners.remove(listener);
+    }
+
+    /**
+     * Registers a validator that's run whenever functions are defined or redefined, before the new definitions are
+     * published. A validator rejects the change by throwing, in which case no function is changed. Validators may be
+     * run more than once for the same change if other definitions are published concurrently.
+     *
+     * @param validator Receives the definitions that would be published and the slots of the changed functions
+     */
+    public void addFunctionValidator(BiConsumer<Snapshot, int[]> validator) {
+        this.functionValidators.add(validator);
+    }
+
+    public void removeFunctionValidator(BiConsumer<Snapshot, int[]> validator) {
+        this.functionValidators.remove(validator);
+    }
+
+    /**
+     * An immutable view of every global and function at a single point in time.
+     */
+    public static final class Snapshot {
+
+        private final double[] globals;
+        private final boolean[] defined;
+        private final FunctionDescriptor[] functions;
+        private final int[] memoCapacities;
+
+        private Snapshot(double[] globals, boolean[] defined, FunctionDescriptor[] functions, int[] memoCapacities) {
+            this.globals = globals;
+            this.defined = defined;
+            this.functions = functions;
+            this.memoCapacities = memoCapacities;
+        }
+
+        public boolean isDefined(int slot) {
+            return slot < this.defined.length && this.defined[slot];
+        }
+
+        public double global(int slot) {
+            if (!this.isDefined(slot)) {
+                throw new IllegalArgumentException("Invalid variable name provided! Unable to resolve.");
+            }
+            return this.globals[slot];
+        }
+
+        public boolean hasFunction(int slot) {
+            return slot < this.functions.length && this.functions[slot] != null;
+        }
+
+        public FunctionDescriptor function(int slot) {
+            var desc = slot < this.functions.length ? this.functions[slot] : null;
+            if (desc == null) {
+                throw new IllegalArgumentException("Invalid function name provided! Unable to resolve.");
+            }
+            return desc;
+        }
+
+        /**
+         * @param slot The function slot
+         * @return The number of results of the function cached per evaluator, or {@code 0} if it isn't memoized
+         */
+        public int memoCapacity(int slot) {
+            return slot < this.memoCapacities.length ? this.memoCapacities[slot] : 0;
+        }
+
+        /**
+         * Collects the globals read by an expression, including through the bodies of the functions it calls as
+         * they're defined in this snapshot.
+         *
+         * @param expression The expression
+         * @param globals    Receives the slot of every global that's read
+         * @param functions  Receives the slot of every function that's called, including functions that aren't
+         *                   defined. The bodies of functions that are already present aren't followed.
+         */
+        public void findReads(Expression expression, BitSet globals, BitSet functions) {
+            new ExpressionTransformer() {
+                @Override
+                public Expression visit(Variable variable) {
+                    globals.set(variable.slot());
+                    return variable;
+                }
+
+                @Override
+                public Expression visit(RuntimeFunction function) {
+                    if (!functions.get(function.slot())) {
+                        functions.set(function.slot());
+                        if (Snapshot.this.hasFunction(function.slot())) {
+                            this.transform(Snapshot.this.function(function.slot()).getBody());
+                        }
+                    }
+                    return super.visit(function);
+                }
+            }.transform(expression);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package me.zero.expressions.expression;
+
+import java.time.Duration;
+
+/**
+ * Limits on the work done by a single top-level evaluation of an {@link Evaluator}, see
+ * {@link Evaluator#setBudget(EvaluationBudget)}. An evaluation that runs out of budget stops with a
+ * {@link BudgetExceededException}.
+ * <p>
+ * Expressions have no loops or conditionals, so the work outside of function calls is bounded by the size of the
+ * expression itself, and every user defined function that calls itself recurses forever. The budget is therefore
+ * spent on calls: their total number, how deeply they nest and how long they take altogether. The deadline is only
+ * checked once every few hundred calls. By default only the depth is limited, which turns runaway recursion into a
+ * {@link BudgetExceededException} long before the thread runs out of stack.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class EvaluationBudget {
+
+    public static final int DEFAULT_MAX_DEPTH = 128;
+
+    public static final EvaluationBudget DEFAULT = new Builder().build();
+
+    private final long maxCalls;
+    private final int maxDepth;
+    private final long timeoutNanos;
+
+    private EvaluationBudget(long maxCalls, int maxDepth, long timeoutNanos) {
+        this.maxCalls = maxCalls;
+        this.maxDepth = maxDepth;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * @return The maximum number of function calls made by an evaluation, or {@link Long#MAX_VALUE} if unlimited
+     */
+    public long getMaxCalls() {
+        return this.maxCalls;
+    }
+
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * @return The maximum duration of an evaluation in nanoseconds, or {@link Long#MAX_VALUE} if unlimited
+     */
+    public long getTimeoutNanos() {
+        return this.timeoutNanos;
+    }
+
+    public boolean hasTimeout() {
+        return this.timeoutNanos != Long.MAX_VALUE;
+    }
+
+    public static class Builder {
+
+        private long maxCalls = Long.MAX_VALUE;
+        private int maxDepth = DEFAULT_MAX_DEPTH;
+        private long timeoutNanos = Long.MAX_VALUE;
+
+        /**
+         * @param maxCalls The maximum number of function calls made by an evaluation
+         * @return This builder
+         */
+        public Builder setMaxCalls(long maxCalls) {
+            if (maxCalls < 0) {
+                throw new IllegalArgumentException("Maximum calls must not be negative");
+            }
+            this.maxCalls = maxCalls;
+            return this;
+        }
+
+        /**
+         * @param maxDepth The maximum number of nested function calls
+         * @return This builder
+         */
+        public Builder setMaxDepth(int maxDepth) {
+            if (maxDepth < 0) {
+                throw new IllegalArgumentException("Maximum depth must not be negative");
+            }
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * @param timeout The maximum duration of an evaluation, or {@code null} for no limit
+         * @return This builder
+         */
+        public Builder setTimeout(Duration timeout) {
+            if (timeout != null && timeout.isNegative()) {
+                throw new IllegalArgumentException("Timeout must not be negative");
+            }
+            // Durations beyond ~292 years saturate, which is as good as unlimited
+            this.timeoutNanos = timeout == null ? Long.MAX_VALUE : saturatedNanos(timeout);
+            return this;
+        }
+
+        public EvaluationBudget build() {
+            return new EvaluationBudget(this.maxCalls, this.maxDepth, this.timeoutNanos);
+        }
+
+        private static long saturatedNanos(Duration duration) {
+            try {
+                return duration.toNanos();
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+    }
+}
@@ -1,61 +1,419 @@
 package me.zero.expressions.expression;
 
+import me.zero.expressions.expression.evaluate.Evaluable;
+import me.zero.expressions.metrics.EvaluateEvent;
+import me.zero.expressions.metrics.FunctionCallEvent;
+import me.zero.expressions.metrics.Instrumentation;
+
 import java.util.*;
+import java.util.function.IntConsumer;
 
 /**
+ * The evaluation state of a single thread: the argument stack and the snapshot of {@link Definitions} that is
+ * currently being evaluated against. Evaluators are cheap, so each thread should use its own; any number of them may
+ * share the same definitions.
+ *
  * @author Brady
  * @since 6/20/2022
  */
 public final class Evaluator {
 
-    // TODO: Builtin Functions/Default globals
-    private final Map<String, Double> globals;
-    private final Deque<Map<String, Double>> locals;
-    private final Map<String, FunctionDescriptor> functions;
+    // Calls between checks of the timeout and cancellation, less one
+    private static final long CHECK_INTERVAL = 255;
+
+    private final Definitions definitions;
+    private Definitions.Snapshot snapshot;
+
+    // Argument stack shared by every call, the current frame begins at fp
+    private double[] stack;
+    private int sp;
+    private int fp;
+
+    // Operand stacks lent to interpreted programs, one per level of nesting
+    private double[][] operands;
+    private int operandDepth;
+
+    // Whether evaluations and calls are measured, checked again whenever the snapshot is refreshed
+    private boolean instrumented;
+
+    // Budget of the current evaluation, callStack holds the slot of each active call for diagnostics
+    private EvaluationBudget budget;
+    private long maxCalls;
+    private int maxDepth;
+    private long calls;
+    private int depth;
+    private int[] callStack;
+    private long started;
+    private volatile boolean cancelled;
+
+    // Cached results of memoized functions, indexed by function slot
+    private MemoTable[] memos;
 
     public Evaluator() {
-        this.globals = new HashMap<>();
-        this.locals = new ArrayDeque<>();
-        this.functions = new HashMap<>();
+        this(new Definitions());
+    }
+
+    /**
+     * @param definitions The definitions shared with other evaluators
+     */
+    public Evaluator(Definitions definitions) {
+        this.definitions = definitions;
+        this.snapshot = definitions.snapshot();
+        this.stack = new double[64];
+        this.operands = new double[8][];
+        this.callStack = new int[16];
+        this.memos = new MemoTable[0];
+        this.setBudget(EvaluationBudget.DEFAULT);
     }
 
-    public double variable(String identifier) {
-        if (!this.locals.isEmpty()) {
-            var val = this.locals.peek().get(identifier);
-            if (val != null) {
-                // TODO: Warn about shadowing a global variable
-                return val;
+    /**
+     * Evaluates a top-level expression in a fresh frame, against the latest definitions. The argument stack is
+     * restored afterwards even if evaluation fails part way through a call, so the evaluator remains usable.
+     *
+     * @param evaluable The expression
+     * @return The result
+     */
+    public double evaluate(Evaluable evaluable) {
+        this.begin();
+        var sp = this.sp;
+        var fp = this.fp;
+        var operandDepth = this.operandDepth;
+        this.fp = sp;
+        try {
+            if (!this.instrumented) {
+                return evaluable.eval(this);
             }
+            var event = new EvaluateEvent();
+            event.begin();
+            var start = Instrumentation.start();
+            var ret = evaluable.eval(this);
+            Instrumentation.evaluated(event, evaluable, start);
+            return ret;
+        } finally {
+            this.sp = sp;
+            this.fp = fp;
+            this.operandDepth = operandDepth;
+        }
+    }
+
+    /**
+     * Starts a new top-level evaluation against the latest definitions, with the full budget available. Evaluators
+     * that walk function bodies themselves call this once per evaluation, and {@link #enter(int)} and
+     * {@link #exit()} around every call.
+     */
+    public void begin() {
+        this.refresh();
+        this.calls = 0;
+        this.depth = 0;
+        if (this.budget.hasTimeout()) {
+            this.started = System.nanoTime();
+        }
+        if (this.cancelled) {
+            this.cancelled = false;
+        }
+    }
+
+    /**
+     * @param budget The budget of each evaluation started from now on
+     */
+    public void setBudget(EvaluationBudget budget) {
+        this.budget = Objects.requireNonNull(budget);
+        this.maxCalls = budget.getMaxCalls();
+        this.maxDepth = budget.getMaxDepth();
+    }
+
+    public EvaluationBudget getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * Stops the evaluation in progress with a {@link BudgetExceededException}, at the same points the timeout is
+     * checked. This may be called from any thread, and has no effect on evaluations started afterwards.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Switches to the most recently published definitions. Within a single top-level evaluation the snapshot is
+     * fixed, so concurrent redefinitions never produce a mix of old and new values.
+     */
+    public void refresh() {
+        this.snapshot = this.definitions.snapshot();
+        this.instrumented = Instrumentation.isEvaluationEnabled();
+    }
+
+    public Definitions getDefinitions() {
+        return this.definitions;
+    }
+
+    /**
+     * @see Definitions#globalSlot(String)
+     */
+    public int globalSlot(String identifier) {
+        return this.definitions.globalSlot(identifier);
+    }
+
+    public double global(int slot) {
+        return this.snapshot.global(slot);
+    }
+
+    public void setGlobal(int slot, double value) {
+        this.definitions.setGlobal(slot, value);
+        this.refresh();
+    }
+
+    /**
+     * @param slot The index of the argument in the current function frame
+     * @return The argument value
+     */
+    public double local(int slot) {
+        return this.stack[this.fp + slot];
+    }
+
+    /**
+     * Pushes an argument for an upcoming {@link #invoke(int, int)}.
+     *
+     * @param value The argument value
+     */
+    public void push(double value) {
+        if (this.sp == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, this.stack.length * 2);
+        }
+        this.stack[this.sp++] = value;
+    }
+
+    /**
+     * Pops values that were pushed onto the argument stack without being consumed by a call.
+     *
+     * @param count The number of values
+     */
+    public void drop(int count) {
+        this.sp -= count;
+    }
+
+    /**
+     * Lends out an operand stack for the duration of a single evaluation. The array is reused by later evaluations
+     * at the same depth, so it must be returned with {@link #releaseOperands()} before the caller returns.
+     *
+     * @param size The minimum length of the stack
+     * @return The operand stack
+     */
+    public double[] acquireOperands(int size) {
+        if (this.operandDepth == this.operands.length) {
+            this.operands = Arrays.copyOf(this.operands, this.operands.length * 2);
+        }
+        var operands = this.operands[this.operandDepth];
+        if (operands == null || operands.length < size) {
+            operands = this.operands[this.operandDepth] = new double[size];
+        }
+        this.operandDepth++;
+        return operands;
+    }
+
+    public void releaseOperands() {
+        this.operandDepth--;
+    }
+
+    /**
+     * Calls a function with the top {@code argc} values of the argument stack as its frame, popping them afterwards.
+     *
+     * @param slot The function slot
+     * @param argc The number of arguments that were pushed
+     * @return The result of the call
+     */
+    public double invoke(int slot, int argc) {
+        if (!this.instrumented) {
+            return this.call(slot, argc);
+        }
+        var event = new FunctionCallEvent();
+        event.begin();
+        var start = Instrumentation.start();
+        var ret = this.call(slot, argc);
+        Instrumentation.called(event, this.definitions.getFunctionSymbols(), slot, start);
+        return ret;
+    }
+
+    private double call(int slot, int argc) {
+        var func = this.function(slot);
+        if (func.getArity() != argc) {
+            throw new IllegalArgumentException("Specified arguments do not match expected count!");
+        }
+
+        var capacity = this.snapshot.memoCapacity(slot);
+        if (capacity != 0) {
+            return this.callMemoized(slot, func, argc, capacity);
+        }
+        return this.call(slot, func, argc);
+    }
+
+    private double call(int slot, FunctionDescriptor func, int argc) {
+        this.enter(slot);
+        var base = this.sp - argc;
+        var caller = this.fp;
+        this.fp = base;
+        var ret = func.eval(this);
+        this.fp = caller;
+        this.sp = base;
+        this.depth--;
+        return ret;
+    }
+
+    private double callMemoized(int slot, FunctionDescriptor func, int argc, int capacity) {
+        if (slot >= this.memos.length) {
+            this.memos = Arrays.copyOf(this.memos, slot + 1);
+        }
+        var table = this.memos[slot];
+        if (table == null || table.getArity() != argc || table.getCapacity() != capacity) {
+            table = this.memos[slot] = new MemoTable(argc, capacity);
+        }
+        table.validate(this.snapshot, slot);
+
+        var base = this.sp - argc;
+        var index = table.find(this.stack, base);
+        if (index >= 0) {
+            this.sp = base;
+            return table.value(index);
+        }
+        // The arguments remain on the stack below the frames of any nested calls
+        var ret = this.call(slot, func, argc);
+        table.put(this.stack, base, ret);
+        return ret;
+    }
+
+    /**
+     * Charges a call to the budget of the current evaluation. Must be followed by {@link #exit()} once the call
+     * returns; if it fails instead, the depth is reset by the next {@link #begin()}.
+     *
+     * @param slot The slot of the function being called
+     * @throws BudgetExceededException If the evaluation has run out of budget or was cancelled
+     */
+    public void enter(int slot) {
+        if (this.depth == this.maxDepth) {
+            throw this.exceeded(BudgetExceededException.Limit.DEPTH, slot);
+        }
+        if (++this.calls > this.maxCalls) {
+            throw this.exceeded(BudgetExceededException.Limit.CALLS, slot);
+        }
+        if ((this.calls & CHECK_INTERVAL) == 0) {
+            this.checkpoint(slot);
+        }
+        if (this.depth == this.callStack.length) {
+            this.callStack = Arrays.copyOf(this.callStack, this.depth * 2);
+        }
+        this.callStack[this.depth++] = slot;
+    }
+
+    public void exit() {
+        this.depth--;
+    }
+
+    private void checkpoint(int slot) {
+        if (this.cancelled) {
+            throw this.exceeded(BudgetExceededException.Limit.CANCELLED, slot);
+        }
+        if (this.budget.hasTimeout() && System.nanoTime() - this.started > this.budget.getTimeoutNanos()) {
+            throw this.exceeded(BudgetExceededException.Limit.TIMEOUT, slot);
         }
+    }
 
-        var val = this.globals.get(identifier);
-        if (val == null) {
+    private BudgetExceededException exceeded(BudgetExceededException.Limit limit, int slot) {
+        var symbols = this.definitions.getFunctionSymbols();
+        var stack = new ArrayList<String>(this.depth + 1);
+        stack.add(symbols.name(slot));
+        for (int i = this.depth - 1; i >= 0; i--) {
+            stack.add(symbols.name(this.callStack[i]));
+        }
+        return new BudgetExceededException(limit, this.budget, this.calls, stack);
+    }
+
+    public double getGlobal(String identifier) {
+        var slot = this.definitions.getGlobalSymbols().indexOf(identifier);
+        if (slot < 0) {
             throw new IllegalArgumentException("Invalid variable name provided! Unable to resolve.");
         }
-        return val;
+        return this.global(slot);
+    }
+
+    public void setGlobal(String identifier, double value) {
+        this.setGlobal(this.globalSlot(identifier), value);
+    }
+
+    /**
+     * @see Definitions#functionSlot(String)
+     */
+    public int functionSlot(String name) {
+        return this.definitions.functionSlot(name);
+    }
+
+    public FunctionDescriptor function(int slot) {
+        return this.snapshot.function(slot);
     }
 
     public void addFunction(String name, List<String> args, Expression body) {
-        this.functions.put(name, FunctionDescriptor.of(args, body));
+        this.definitions.addFunction(name, args, body);
+        this.refresh();
+    }
+
+    /**
+     * @see Definitions#addFunctionListener(IntConsumer)
+     */
+    public void addFunctionListener(IntConsumer listener) {
+        this.definitions.addFunctionListener(listener);
     }
 
     public FunctionDescriptor getFunction(String name) {
-        var desc = this.functions.get(name);
-        if (desc == null) {
+        var slot = this.definitions.getFunctionSymbols().indexOf(name);
+        if (slot < 0) {
             throw new IllegalArgumentException("Invalid function name provided! Unable to resolve.");
         }
-        return desc;
+        return this.function(slot);
     }
 
-    public void pushLocals(Map<String, Double> locals) {
-        this.locals.push(Map.copyOf(locals));
+    /**
+     * @return A live, name-keyed view of the defined global variables
+     */
+    public Map<String, Double> getGlobals() {
+        return new GlobalsView();
     }
 
-    public void popLocals() {
-        this.locals.pop();
-    }
+    private final class GlobalsView extends AbstractMap<String, Double> {
 
-    public Map<String, Double> getGlobals() {
-        return this.globals;
+        @Override
+        public Double get(Object key) {
+            if (key instanceof String name) {
+                var slot = definitions.getGlobalSymbols().indexOf(name);
+                var latest = definitions.snapshot();
+                if (slot >= 0 && latest.isDefined(slot)) {
+                    return latest.global(slot);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.get(key) != null;
+        }
+
+        @Override
+        public Double put(String key, Double value) {
+            var previous = this.get(key);
+            setGlobal(key, value);
+            return previous;
+        }
+
+        @Override
+        public Set<Entry<String, Double>> entrySet() {
+            var symbols = definitions.getGlobalSymbols();
+            var latest = definitions.snapshot();
+            var entries = new LinkedHashSet<Entry<String, Double>>();
+            for (int i = 0; i < symbols.size(); i++) {
+                if (latest.isDefined(i)) {
+                    entries.add(Map.entry(symbols.name(i), latest.global(i)));
+                }
+            }
+            return Collections.unmodifiableSet(entries);
+        }
     }
 }
@@ -9,4 +9,6 @@ import me.zero.expressions.expression.evaluate.Evaluable;
 public interface Expression extends Evaluable {
 
     Expression simplify(SimplificationContext context);
+
+    <T> T accept(ExpressionVisitor<T> visitor);
 }
@@ -0,0 +1,109 @@
+package me.zero.expressions.expression;
+
+import me.zero.expressions.expression.ast.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A visitor that rebuilds an expression bottom-up. By default every node is rebuilt from its transformed children,
+ * reusing the original node when none of them changed, so subclasses only override the nodes they rewrite.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public abstract class ExpressionTransformer implements ExpressionVisitor<Expression> {
+
+    public Expression transform(Expression expression) {
+        return expression.accept(this);
+    }
+
+    @Override
+    public Expression visit(Literal literal) {
+        return literal;
+    }
+
+    @Override
+    public Expression visit(Variable variable) {
+        return variable;
+    }
+
+    @Override
+    public Expression visit(LocalVariable variable) {
+        return variable;
+    }
+
+    @Override
+    public Expression visit(AddSubtract addSubtract) {
+        var add = this.transformAll(addSubtract.add());
+        var subtract = this.transformAll(addSubtract.subtract());
+        if (add == addSubtract.add() && subtract == addSubtract.subtract()) {
+            return addSubtract;
+        }
+        return new AddSubtract(add, subtract);
+    }
+
+    @Override
+    public Expression visit(MultiplyDivide multiplyDivide) {
+        var multiply = this.transformAll(multiplyDivide.multiply());
+        var divide = this.transformAll(multiplyDivide.divide());
+        if (multiply == multiplyDivide.multiply() && divide == multiplyDivide.divide()) {
+            return multiplyDivide;
+        }
+        return new MultiplyDivide(multiply, divide);
+    }
+
+    @Override
+    public Expression visit(Exponent exponent) {
+        var base = this.transform(exponent.base());
+        var power = this.transform(exponent.power());
+        if (base == exponent.base() && power == exponent.power()) {
+            return exponent;
+        }
+        return new Exponent(base, power);
+    }
+
+    @Override
+    public Expression visit(RuntimeFunction function) {
+        var args = this.transformAll(function.args());
+        if (args == function.args()) {
+            return function;
+        }
+        return new RuntimeFunction(function.name(), function.slot(), List.copyOf(args));
+    }
+
+    @Override
+    public Expression visit(BuiltinFunction function) {
+        var args = this.transformAll(function.args());
+        if (args == function.args()) {
+            return function;
+        }
+        return new BuiltinFunction(function.function(), List.copyOf(args));
+    }
+
+    @Override
+    public Expression visit(Let let) {
+        var bindings = this.transformAll(let.bindings());
+        var body = this.transform(let.body());
+        if (bindings == let.bindings() && body == let.body()) {
+            return let;
+        }
+        return new Let(List.copyOf(bindings), let.slot(), body);
+    }
+
+    /**
+     * @param expressions The expressions to transform, in order
+     * @return The transformed expressions, or the original collection if every expression was left unchanged
+     */
+    protected Collection<Expression> transformAll(Collection<Expression> expressions) {
+        var transformed = new ArrayList<Expression>(expressions.size());
+        var changed = false;
+        for (var exp : expressions) {
+            var result = this.transform(exp);
+            changed |= result != exp;
+            transformed.add(result);
+        }
+        return changed ? List.copyOf(transformed) : expressions;
+    }
+}
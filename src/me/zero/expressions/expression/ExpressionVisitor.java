@@ -0,0 +1,32 @@
+package me.zero.expressions.expression;
+
+import me.zero.expressions.expression.ast.*;
+
+/**
+ * Dispatches over every concrete AST node type. Backends that operate on a whole tree (code generators, alternate
+ * evaluation modes) implement this so that adding a node type surfaces as a compile error everywhere it matters.
+ *
+ * @param <T> The result type of a visit
+ * @author Brady
+ * @since 10/18/2026
+ */
+public interface ExpressionVisitor<T> {
+
+    T visit(Literal literal);
+
+    T visit(Variable variable);
+
+    T visit(LocalVariable variable);
+
+    T visit(AddSubtract addSubtract);
+
+    T visit(MultiplyDivide multiplyDivide);
+
+    T visit(Exponent exponent);
+
+    T visit(RuntimeFunction function);
+
+    T visit(BuiltinFunction function);
+
+    T visit(Let let);
+}
@@ -0,0 +1,180 @@
+package me.zero.expressions.expression;
+
+import me.zero.expressions.expression.ast.Let;
+import me.zero.expressions.expression.ast.LocalVariable;
+import me.zero.expressions.expression.ast.RuntimeFunction;
+import me.zero.expressions.expression.ast.Variable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces calls to user defined functions with their bodies, substituting each argument expression for the matching
+ * parameter, so that the simplifier can optimize across the call. Inlining is transitive, calls within an inlined body
+ * are inlined as well. Calls to recursive, memoized or undefined functions, and calls with the wrong number of
+ * arguments, are left as calls and are resolved through their slot when they're evaluated. So are calls that would
+ * drop an argument which reads an undefined variable or calls a function, since evaluating it may throw.
+ * <p>
+ * The result is a tree that may share nodes, which should be simplified and passed through
+ * {@link CommonSubexpressions} so that an argument referenced more than once is only computed once.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class Inliner {
+
+    /**
+     * The maximum number of nodes an inlined call may expand to, counting shared nodes once per reference. Nested
+     * calls that use their parameter more than once grow exponentially, so larger calls are left as-is.
+     */
+    private static final long MAX_SIZE = 512;
+
+    private final Definitions.Snapshot snapshot;
+    private final BitSet inlined;
+    private final BitSet active;
+    private final BitSet recursive;
+    private final Map<Expression, Long> sizes;
+
+    private Inliner(Definitions.Snapshot snapshot, BitSet inlined) {
+        this.snapshot = snapshot;
+        this.inlined = inlined;
+        this.active = new BitSet();
+        this.recursive = new BitSet();
+        this.sizes = new IdentityHashMap<>();
+    }
+
+    /**
+     * @param expression The expression, which must not reference any local variables
+     * @param snapshot   The definitions that calls are inlined from
+     * @param inlined    Receives the slot of every function that was inlined
+     * @return An equivalent expression with calls replaced by the bodies of the called functions
+     */
+    public static Expression inline(Expression expression, Definitions.Snapshot snapshot, BitSet inlined) {
+        return new Inliner(snapshot, inlined).new Substitution(new Expression[0]).transform(expression);
+    }
+
+    private Expression call(RuntimeFunction call, List<Expression> args) {
+        var slot = call.slot();
+        if (this.active.get(slot)) {
+            this.recursive.set(slot);
+        }
+        if (this.recursive.get(slot) || !this.snapshot.hasFunction(slot) || this.snapshot.memoCapacity(slot) != 0) {
+            return call.args() == args ? call : new RuntimeFunction(call.name(), slot, args);
+        }
+        var function = this.snapshot.function(slot);
+        if (function.getArity() != args.size()) {
+            return call.args() == args ? call : new RuntimeFunction(call.name(), slot, args);
+        }
+
+        var inlined = (BitSet) this.inlined.clone();
+        this.active.set(slot);
+        var substitution = new Substitution(args.toArray(Expression[]::new));
+        var body = substitution.transform(function.getBody());
+        this.active.clear(slot);
+
+        if (this.recursive.get(slot) || substitution.dropsFallible() || this.size(body) > MAX_SIZE) {
+            // Calls within the body were only inlined into the discarded copy
+            this.inlined.clear();
+            this.inlined.or(inlined);
+            return call.args() == args ? call : new RuntimeFunction(call.name(), slot, args);
+        }
+        this.inlined.set(slot);
+        return body;
+    }
+
+    private long size(Expression expression) {
+        var size = this.sizes.get(expression);
+        if (size != null) {
+            return size;
+        }
+        var total = new long[] { 1 };
+        expression.accept(new ExpressionTransformer() {
+            @Override
+            public Expression transform(Expression child) {
+                if (child == expression) {
+                    return child.accept(this);
+                }
+                total[0] = Math.min(total[0] + Inliner.this.size(child), Long.MAX_VALUE / 2);
+                return child;
+            }
+        });
+        this.sizes.put(expression, total[0]);
+        return total[0];
+    }
+
+    /**
+     * @return Whether evaluating the expression may throw, as reading an undefined global or calling a function can.
+     *         Globals are never removed, so those that are already defined can always be read.
+     */
+    private boolean isFallible(Expression expression) {
+        var fallible = new boolean[1];
+        expression.accept(new ExpressionTransformer() {
+            @Override
+            public Expression visit(Variable variable) {
+                fallible[0] |= !Inliner.this.snapshot.isDefined(variable.slot());
+                return variable;
+            }
+
+            @Override
+            public Expression visit(RuntimeFunction function) {
+                fallible[0] = true;
+                return function;
+            }
+        });
+        return fallible[0];
+    }
+
+    /**
+     * Rewrites a function body, replacing each local variable with the expression for that slot of the frame.
+     */
+    private final class Substitution extends ExpressionTransformer {
+
+        private Expression[] frame;
+        private final BitSet referenced;
+
+        private Substitution(Expression[] frame) {
+            this.frame = frame;
+            this.referenced = new BitSet();
+        }
+
+        /**
+         * @return Whether an argument or binding that's never referenced may throw when it's evaluated
+         */
+        private boolean dropsFallible() {
+            for (int slot = this.referenced.nextClearBit(0); slot < this.frame.length;
+                    slot = this.referenced.nextClearBit(slot + 1)) {
+                if (Inliner.this.isFallible(this.frame[slot])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Expression visit(LocalVariable variable) {
+            this.referenced.set(variable.slot());
+            return this.frame[variable.slot()];
+        }
+
+        @Override
+        public Expression visit(RuntimeFunction function) {
+            // Arguments are substituted first, so that they're already resolved in the frame of the callee
+            var args = this.transformAll(function.args());
+            return Inliner.this.call(function, args == function.args() ? function.args() : List.copyOf(args));
+        }
+
+        @Override
+        public Expression visit(Let let) {
+            // Bindings are referenced through the slots that follow the arguments, so they're substituted in turn
+            this.frame = Arrays.copyOf(this.frame, Math.max(this.frame.length, let.slot() + let.bindings().size()));
+            var slot = let.slot();
+            for (var binding : let.bindings()) {
+                this.frame[slot++] = this.transform(binding);
+            }
+            return this.transform(let.body());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package me.zero.expressions.expression;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The results of a memoized function for a single {@link Evaluator}, keyed on the exact bits of the arguments. Entries
+ * live in flat primitive arrays with open addressing, so lookups and insertions never allocate. A key may only occupy
+ * one of the few slots following its hash, and once those are taken an existing entry is evicted in its place, which
+ * bounds both the size of the table and the cost of a lookup.
+ * <p>
+ * Entries remain valid as long as the function, the functions it calls and the globals they read are unchanged. The
+ * table is checked against each new snapshot the first time it's used with it, and cleared if any of them differ.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+final class MemoTable {
+
+    // The number of consecutive slots a key may occupy
+    private static final int PROBES = 4;
+
+    private final int arity;
+    private final int capacity;
+    private final int mask;
+
+    private final long[] keys;
+    private final double[] values;
+    // An entry is occupied if its stamp matches the current generation, so clearing the table is a single increment
+    private final int[] stamps;
+    private int generation;
+    private int victim;
+
+    // The snapshot the entries were last validated against, and the slots their results depend on
+    private Definitions.Snapshot snapshot;
+    private int[] globals;
+    private int[] functions;
+
+    /**
+     * @param arity    The number of arguments of the function
+     * @param capacity The requested number of entries, rounded up to a power of two
+     */
+    MemoTable(int arity, int capacity) {
+        var size = Math.max(PROBES, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        this.arity = arity;
+        this.capacity = capacity;
+        this.mask = size - 1;
+        this.keys = new long[size * arity];
+        this.values = new double[size];
+        this.stamps = new int[size];
+        this.generation = 1;
+    }
+
+    int getArity() {
+        return this.arity;
+    }
+
+    int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Discards every entry if anything the function depends on differs between the snapshot the entries were computed
+     * against and the specified one.
+     *
+     * @param snapshot The snapshot being evaluated against
+     * @param slot     The slot of the memoized function
+     */
+    void validate(Definitions.Snapshot snapshot, int slot) {
+        if (this.snapshot == snapshot) {
+            return;
+        }
+        if (this.snapshot == null || !this.unchanged(snapshot)) {
+            this.clear();
+            this.findDependencies(snapshot, slot);
+        }
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * @param stack The argument stack
+     * @param base  The index of the first argument
+     * @return The index of the entry for the arguments, or {@code -1} if there isn't one
+     */
+    int find(double[] stack, int base) {
+        var hash = this.hash(stack, base);
+        for (int i = 0; i < PROBES; i++) {
+            var index = (hash + i) & this.mask;
+            if (this.stamps[index] == this.generation && this.matches(index, stack, base)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    double value(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * @param stack The argument stack
+     * @param base  The index of the first argument
+     * @param value The result of the call
+     */
+    void put(double[] stack, int base, double value) {
+        var hash = this.hash(stack, base);
+        var index = -1;
+        for (int i = 0; i < PROBES; i++) {
+            var candidate = (hash + i) & this.mask;
+            if (this.stamps[candidate] != this.generation || this.matches(candidate, stack, base)) {
+                index = candidate;
+                break;
+            }
+        }
+        if (index < 0) {
+            // Rotating through the victims keeps a run of colliding keys from evicting the same entry every time
+            index = (hash + this.victim) & this.mask;
+            this.victim = (this.victim + 1) % PROBES;
+        }
+        for (int i = 0; i < this.arity; i++) {
+            this.keys[index * this.arity + i] = Double.doubleToRawLongBits(stack[base + i]);
+        }
+        this.values[index] = value;
+        this.stamps[index] = this.generation;
+    }
+
+    private void clear() {
+        if (++this.generation == 0) {
+            Arrays.fill(this.stamps, 0);
+            this.generation = 1;
+        }
+    }
+
+    private boolean matches(int index, double[] stack, int base) {
+        var offset = index * this.arity;
+        for (int i = 0; i < this.arity; i++) {
+            if (this.keys[offset + i] != Double.doubleToRawLongBits(stack[base + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int hash(double[] stack, int base) {
+        var hash = 0L;
+        for (int i = 0; i < this.arity; i++) {
+            hash = (hash ^ Double.doubleToRawLongBits(stack[base + i])) * 0x9E3779B97F4A7C15L;
+        }
+        // The low bits of whole numbers are all zero, so the high bits have to be mixed down into the index
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (hash ^ (hash >>> 33));
+    }
+
+    private boolean unchanged(Definitions.Snapshot snapshot) {
+        var previous = this.snapshot;
+        for (var slot : this.globals) {
+            var defined = previous.isDefined(slot);
+            if (defined != snapshot.isDefined(slot)) {
+                return false;
+            }
+            if (defined && Double.doubleToRawLongBits(previous.global(slot))
+                    != Double.doubleToRawLongBits(snapshot.global(slot))) {
+                return false;
+            }
+        }
+        for (var slot : this.functions) {
+            var defined = previous.hasFunction(slot);
+            if (defined != snapshot.hasFunction(slot)) {
+                return false;
+            }
+            if (defined && previous.function(slot) != snapshot.function(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records the globals and functions the memoized function depends on, including through the functions it calls.
+     */
+    private void findDependencies(Definitions.Snapshot snapshot, int slot) {
+        var globals = new BitSet();
+        var functions = new BitSet();
+        functions.set(slot);
+        snapshot.findReads(snapshot.function(slot).getBody(), globals, functions);
+        this.globals = globals.stream().toArray();
+        this.functions = functions.stream().toArray();
+    }
+}
@@ -1,17 +1,63 @@
 package me.zero.expressions.expression;
 
 /**
+ * Options for {@link Expression#simplify(SimplificationContext)}.
+ * <p>
+ * By default simplification is IEEE-strict: a rewrite is only applied if the simplified expression produces the exact
+ * same result as the original for every input, so constants are only folded where they are already adjacent in
+ * evaluation order and nested sums or products are only flattened where their order is preserved. With fast math
+ * enabled, sums and products may be freely reassociated, which can change results in the last bits and the sign of
+ * zero results.
+ * <p>
+ * Top-level expressions are also compiled with calls to user defined functions inlined by default, which exposes
+ * the bodies of the called functions to simplification. Inlining never changes results.
+ *
  * @author Brady
  * @since 6/22/2022
  */
 public final class SimplificationContext {
 
-    private SimplificationContext() {}
+    private final boolean fastMath;
+    private final boolean inlining;
+
+    private SimplificationContext(boolean fastMath, boolean inlining) {
+        this.fastMath = fastMath;
+        this.inlining = inlining;
+    }
+
+    public boolean isFastMath() {
+        return this.fastMath;
+    }
+
+    public boolean isInlining() {
+        return this.inlining;
+    }
 
     public static class Builder {
 
+        private boolean fastMath;
+        private boolean inlining = true;
+
+        /**
+         * @param fastMath Whether sums and products may be reassociated
+         * @return This builder
+         */
+        public Builder setFastMath(boolean fastMath) {
+            this.fastMath = fastMath;
+            return this;
+        }
+
+        /**
+         * @param inlining Whether calls to user defined functions are inlined into top-level expressions
+         * @return This builder
+         */
+        public Builder setInlining(boolean inlining) {
+            this.inlining = inlining;
+            return this;
+        }
+
         public SimplificationContext build() {
-            return new SimplificationContext();
+            return new SimplificationContext(this.fastMath, this.inlining);
         }
     }
 }
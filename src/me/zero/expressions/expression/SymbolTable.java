@@ -0,0 +1,63 @@
+package me.zero.expressions.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An append-only mapping between names and dense integer slots. Slots are assigned in order of first use and never
+ * change, so an index resolved once at build time remains valid for the lifetime of the table. Lookups are lock-free,
+ * and interning is safe to call from multiple threads.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class SymbolTable {
+
+    private final Map<String, Integer> indices;
+    private final List<String> names;
+
+    public SymbolTable() {
+        this.indices = new ConcurrentHashMap<>();
+        this.names = new ArrayList<>();
+    }
+
+    /**
+     * @param name The symbol name
+     * @return The slot of the symbol, assigning a new one if the symbol hasn't been seen before
+     */
+    public int intern(String name) {
+        var index = this.indices.get(name);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = this.indices.get(name);
+            if (index == null) {
+                index = this.names.size();
+                // Append the name first, so that any thread observing the index can also resolve its name
+                this.names.add(name);
+                this.indices.put(name, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * @param name The symbol name
+     * @return The slot of the symbol, or {@code -1} if it hasn't been interned
+     */
+    public int indexOf(String name) {
+        var index = this.indices.get(name);
+        return index != null ? index : -1;
+    }
+
+    public synchronized String name(int index) {
+        return this.names.get(index);
+    }
+
+    public synchronized int size() {
+        return this.names.size();
+    }
+}
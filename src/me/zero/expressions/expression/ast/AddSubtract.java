@@ -2,8 +2,10 @@ package me.zero.expressions.expression.ast;
 
 import me.zero.expressions.expression.Evaluator;
 import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
 import me.zero.expressions.expression.SimplificationContext;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -19,12 +21,105 @@ public record AddSubtract(Collection<Expression> add, Collection<Expression> sub
 
     @Override
     public double eval(Evaluator ev) {
-        return this.add.stream().mapToDouble(exp -> exp.eval(ev)).sum()
-            - this.subtract.stream().mapToDouble(exp -> exp.eval(ev)).sum();
+        var sum = 0.0d;
+        for (var exp : this.add) {
+            sum += exp.eval(ev);
+        }
+        if (this.subtract.isEmpty()) {
+            return sum;
+        }
+
+        var difference = 0.0d;
+        for (var exp : this.subtract) {
+            difference += exp.eval(ev);
+        }
+        return sum - difference;
     }
 
     @Override
     public Expression simplify(SimplificationContext context) {
-        return this;
+        var add = new ArrayList<Expression>();
+        var subtract = new ArrayList<Expression>();
+        for (var exp : this.add) {
+            flatten(exp.simplify(context), add, subtract, context);
+        }
+        for (var exp : this.subtract) {
+            flatten(exp.simplify(context), subtract, add, context);
+        }
+
+        // Sums are accumulated from +0.0 and so are never -0.0, which makes dropping zero terms exact
+        add.removeIf(AddSubtract::isZero);
+        subtract.removeIf(AddSubtract::isZero);
+
+        if (context.isFastMath()) {
+            var constant = fold(add) - fold(subtract);
+            if (constant != 0.0d || add.isEmpty() && subtract.isEmpty()) {
+                add.add(0, new Literal(constant));
+            }
+        } else {
+            foldPrefix(add);
+            foldPrefix(subtract);
+        }
+
+        // Without reassociation a lone term is only exact if it can't be -0.0, which holds for nested sums
+        if (subtract.isEmpty() && add.size() == 1 && (context.isFastMath() || add.get(0) instanceof AddSubtract)) {
+            return add.get(0);
+        }
+
+        var simplified = new AddSubtract(List.copyOf(add), List.copyOf(subtract));
+        if (add.stream().allMatch(Literal.class::isInstance) && subtract.stream().allMatch(Literal.class::isInstance)) {
+            return new Literal(simplified.eval(null));
+        }
+        return simplified;
+    }
+
+    private static void flatten(Expression exp, List<Expression> same, List<Expression> opposite,
+                                SimplificationContext context) {
+        if (exp instanceof AddSubtract child) {
+            if (context.isFastMath()) {
+                same.addAll(child.add);
+                opposite.addAll(child.subtract);
+                return;
+            }
+            // A leading sum without subtractions is accumulated in exactly the same order once it's inlined
+            if (same.isEmpty() && child.subtract.isEmpty()) {
+                same.addAll(child.add);
+                return;
+            }
+        }
+        same.add(exp);
+    }
+
+    private static double fold(List<Expression> terms) {
+        var sum = 0.0d;
+        for (var it = terms.iterator(); it.hasNext(); ) {
+            if (it.next() instanceof Literal literal) {
+                sum += literal.value();
+                it.remove();
+            }
+        }
+        return sum;
+    }
+
+    private static void foldPrefix(List<Expression> terms) {
+        var count = 0;
+        var sum = 0.0d;
+        while (count < terms.size() && terms.get(count) instanceof Literal literal) {
+            sum += literal.value();
+            count++;
+        }
+        if (count > 1) {
+            terms.subList(0, count).clear();
+            terms.add(0, new Literal(sum));
+        }
+    }
+
+    private static boolean isZero(Expression exp) {
+        return exp instanceof Literal literal && literal.value() == 0.0d;
+    }
+
+    @Override
+    public <T> T accept(ExpressionVisitor<T> visitor) {
+        return visitor.visit(this);
     }
 }
@@ -0,0 +1,49 @@
+package me.zero.expressions.expression.ast;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
+import me.zero.expressions.expression.SimplificationContext;
+import me.zero.expressions.provider.Builtin;
+
+import java.util.List;
+
+/**
+ * A call to a built-in function, resolved at build time. Unlike {@link RuntimeFunction}, the function can't be
+ * redefined, so the call is computed directly without going through the evaluator's argument stack.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public record BuiltinFunction(Builtin function, List<Expression> args) implements Expression {
+
+    public BuiltinFunction {
+        if (args.size() != function.getArity()) {
+            throw new IllegalArgumentException("Specified arguments do not match expected count!");
+        }
+    }
+
+    @Override
+    public double eval(Evaluator ev) {
+        var a = this.args.get(0).eval(ev);
+        var b = this.args.size() > 1 ? this.args.get(1).eval(ev) : 0.0d;
+        return this.function.compute(a, b);
+    }
+
+    @Override
+    public Expression simplify(SimplificationContext context) {
+        var args = this.args.stream().map(arg -> arg.simplify(context)).toList();
+        var simplified = new BuiltinFunction(this.function, args);
+
+        // Built-in functions are pure, so a call with constant arguments always produces the same value
+        if (args.stream().allMatch(Literal.class::isInstance)) {
+            return new Literal(simplified.eval(null));
+        }
+        return simplified;
+    }
+
+    @Override
+    public <T> T accept(ExpressionVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -2,6 +2,7 @@ package me.zero.expressions.expression.ast;
 
 import me.zero.expressions.expression.Evaluator;
 import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
 import me.zero.expressions.expression.SimplificationContext;
 
 /**
@@ -17,6 +18,27 @@ public record Exponent(Expression base, Expression power) implements Expression
 
     @Override
     public Expression simplify(SimplificationContext context) {
-        return this;
+        var base = this.base.simplify(context);
+        var power = this.power.simplify(context);
+
+        if (power instanceof Literal p) {
+            if (base instanceof Literal b) {
+                return new Literal(Math.pow(b.value(), p.value()));
+            }
+            // Math.pow(x, 1.0) is specified to return x
+            if (p.value() == 1.0d) {
+                return base;
+            }
+            // Math.pow(x, 0.0) is always 1.0, but dropping the base would also drop any failure evaluating it
+            if (p.value() == 0.0d && context.isFastMath()) {
+                return new Literal(1.0d);
+            }
+        }
+        return new Exponent(base, power);
+    }
+
+    @Override
+    public <T> T accept(ExpressionVisitor<T> visitor) {
+        return visitor.visit(this);
     }
 }
@@ -0,0 +1,42 @@
+package me.zero.expressions.expression.ast;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
+import me.zero.expressions.expression.SimplificationContext;
+
+import java.util.List;
+
+/**
+ * Evaluates each binding once into consecutive frame slots starting at {@code slot}, then evaluates the body, which
+ * reads the bindings through {@link LocalVariable} nodes. Bindings may read the slots of earlier bindings.
+ * <p>
+ * A let is always the root of an expression or function body, so the bindings are pushed directly above the
+ * arguments of the current frame.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public record Let(List<Expression> bindings, int slot, Expression body) implements Expression {
+
+    @Override
+    public double eval(Evaluator ev) {
+        for (int i = 0; i < this.bindings.size(); i++) {
+            ev.push(this.bindings.get(i).eval(ev));
+        }
+        var ret = this.body.eval(ev);
+        ev.drop(this.bindings.size());
+        return ret;
+    }
+
+    @Override
+    public Expression simplify(SimplificationContext context) {
+        return new Let(this.bindings.stream().map(exp -> exp.simplify(context)).toList(), this.slot,
+            this.body.simplify(context));
+    }
+
+    @Override
+    public <T> T accept(ExpressionVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -2,6 +2,7 @@ package me.zero.expressions.expression.ast;
 
 import me.zero.expressions.expression.Evaluator;
 import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
 import me.zero.expressions.expression.SimplificationContext;
 
 /**
@@ -19,4 +20,9 @@ public record Literal(double value) implements Expression {
     public Expression simplify(SimplificationContext context) {
         return this;
     }
+
+    @Override
+    public <T> T accept(ExpressionVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
 }
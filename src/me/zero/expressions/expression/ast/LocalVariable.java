@@ -0,0 +1,30 @@
+package me.zero.expressions.expression.ast;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
+import me.zero.expressions.expression.SimplificationContext;
+
+/**
+ * A reference to a function argument, resolved to its index in the current function frame at build time.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public record LocalVariable(String variable, int slot) implements Expression {
+
+    @Override
+    public double eval(Evaluator ev) {
+        return ev.local(this.slot);
+    }
+
+    @Override
+    public Expression simplify(SimplificationContext context) {
+        return this;
+    }
+
+    @Override
+    public <T> T accept(ExpressionVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -2,8 +2,10 @@ package me.zero.expressions.expression.ast;
 
 import me.zero.expressions.expression.Evaluator;
 import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
 import me.zero.expressions.expression.SimplificationContext;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -19,12 +21,104 @@ public record MultiplyDivide(Collection<Expression> multiply, Collection<Express
 
     @Override
     public double eval(Evaluator evaluator) {
-        return this.multiply.stream().mapToDouble(e -> e.eval(evaluator)).reduce(1.0d, (a, b) -> a * b)
-            / this.divide.stream().mapToDouble(e -> e.eval(evaluator)).reduce(1.0d, (a, b) -> a * b);
+        var product = 1.0d;
+        for (var exp : this.multiply) {
+            product *= exp.eval(evaluator);
+        }
+        if (this.divide.isEmpty()) {
+            return product;
+        }
+
+        var divisor = 1.0d;
+        for (var exp : this.divide) {
+            divisor *= exp.eval(evaluator);
+        }
+        return product / divisor;
     }
 
     @Override
     public Expression simplify(SimplificationContext context) {
-        return this;
+        var multiply = new ArrayList<Expression>();
+        var divide = new ArrayList<Expression>();
+        for (var exp : this.multiply) {
+            flatten(exp.simplify(context), multiply, divide, context);
+        }
+        for (var exp : this.divide) {
+            flatten(exp.simplify(context), divide, multiply, context);
+        }
+
+        // Multiplying by one is always exact
+        multiply.removeIf(MultiplyDivide::isOne);
+        divide.removeIf(MultiplyDivide::isOne);
+
+        if (context.isFastMath()) {
+            var constant = fold(multiply) / fold(divide);
+            if (constant != 1.0d || multiply.isEmpty() && divide.isEmpty()) {
+                multiply.add(0, new Literal(constant));
+            }
+        } else {
+            foldPrefix(multiply);
+            foldPrefix(divide);
+        }
+
+        if (divide.isEmpty() && multiply.size() == 1) {
+            return multiply.get(0);
+        }
+
+        var simplified = new MultiplyDivide(List.copyOf(multiply), List.copyOf(divide));
+        if (multiply.stream().allMatch(Literal.class::isInstance) && divide.stream().allMatch(Literal.class::isInstance)) {
+            return new Literal(simplified.eval(null));
+        }
+        return simplified;
+    }
+
+    private static void flatten(Expression exp, List<Expression> same, List<Expression> opposite,
+                                SimplificationContext context) {
+        if (exp instanceof MultiplyDivide child) {
+            if (context.isFastMath()) {
+                same.addAll(child.multiply);
+                opposite.addAll(child.divide);
+                return;
+            }
+            // A leading product without divisions is accumulated in exactly the same order once it's inlined
+            if (same.isEmpty() && child.divide.isEmpty()) {
+                same.addAll(child.multiply);
+                return;
+            }
+        }
+        same.add(exp);
+    }
+
+    private static double fold(List<Expression> factors) {
+        var product = 1.0d;
+        for (var it = factors.iterator(); it.hasNext(); ) {
+            if (it.next() instanceof Literal literal) {
+                product *= literal.value();
+                it.remove();
+            }
+        }
+        return product;
+    }
+
+    private static void foldPrefix(List<Expression> factors) {
+        var count = 0;
+        var product = 1.0d;
+        while (count < factors.size() && factors.get(count) instanceof Literal literal) {
+            product *= literal.value();
+            count++;
+        }
+        if (count > 1) {
+            factors.subList(0, count).clear();
+            factors.add(0, new Literal(product));
+        }
+    }
+
+    private static boolean isOne(Expression exp) {
+        return exp instanceof Literal literal && literal.value() == 1.0d;
+    }
+
+    @Override
+    public <T> T accept(ExpressionVisitor<T> visitor) {
+        return visitor.visit(this);
     }
 }
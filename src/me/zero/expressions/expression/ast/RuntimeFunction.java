@@ -2,27 +2,36 @@ package me.zero.expressions.expression.ast;
 
 import me.zero.expressions.expression.Evaluator;
 import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
 import me.zero.expressions.expression.SimplificationContext;
 
 import java.util.List;
 
 /**
+ * A call to a user defined function, resolved to its function slot at build time. Arguments are evaluated onto the
+ * evaluator's argument stack, so a call doesn't allocate.
+ *
  * @author Brady
  * @since 6/21/2022
  */
-public record RuntimeFunction(String name, List<Expression> args) implements Expression {
+public record RuntimeFunction(String name, int slot, List<Expression> args) implements Expression {
 
     @Override
     public double eval(Evaluator ev) {
-        var func = ev.getFunction(this.name);
-        ev.pushLocals(func.bind(this.args, ev));
-        var ret = func.eval(ev);
-        ev.popLocals();
-        return ret;
+        for (int i = 0; i < this.args.size(); i++) {
+            ev.push(this.args.get(i).eval(ev));
+        }
+        return ev.invoke(this.slot, this.args.size());
     }
 
     @Override
     public Expression simplify(SimplificationContext context) {
-        return this;
+        // The function itself may be redefined, so only the arguments can be simplified
+        return new RuntimeFunction(this.name, this.slot, this.args.stream().map(arg -> arg.simplify(context)).toList());
+    }
+
+    @Override
+    public <T> T accept(ExpressionVisitor<T> visitor) {
+        return visitor.visit(this);
     }
 }
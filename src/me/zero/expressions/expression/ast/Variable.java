@@ -2,21 +2,29 @@ package me.zero.expressions.expression.ast;
 
 import me.zero.expressions.expression.Evaluator;
 import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
 import me.zero.expressions.expression.SimplificationContext;
 
 /**
+ * A reference to a global variable, resolved to its slot in the {@link Evaluator} at build time.
+ *
  * @author Brady
  * @since 6/21/2022
  */
-public record Variable(String variable) implements Expression {
+public record Variable(String variable, int slot) implements Expression {
 
     @Override
     public double eval(Evaluator ev) {
-        return ev.variable(this.variable);
+        return ev.global(this.slot);
     }
 
     @Override
     public Expression simplify(SimplificationContext context) {
         return this;
     }
+
+    @Override
+    public <T> T accept(ExpressionVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
 }
@@ -0,0 +1,490 @@
+package me.zero.expressions.expression.codec;
+
+import me.zero.expressions.expression.Definitions;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
+import me.zero.expressions.expression.ast.*;
+import me.zero.expressions.provider.Builtin;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary encoding of expressions, which can be decoded without tokenizing or parsing the source again.
+ * <p>
+ * Slots are only meaningful to the {@link Definitions} an expression was built against, so an encoded expression
+ * starts with a pool of every variable and function name it references, and nodes refer to names by their index in
+ * the pool. Decoding resolves each name to a slot of the target definitions once, so an expression can be loaded into
+ * a different engine than the one that built it. Nodes are written in prefix order, each starting with a tag byte.
+ * Counts, indices and integral literals are written as variable-length integers, other values are big-endian.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class ExpressionCodec {
+
+    /**
+     * The version of the format, written at the start of every encoded expression, statement and library. Decoding
+     * rejects any other version.
+     */
+    public static final int VERSION = 1;
+
+    private static final int LITERAL = 0;
+    private static final int INTEGER = 1;
+    private static final int VARIABLE = 2;
+    private static final int LOCAL_VARIABLE = 3;
+    private static final int ADD_SUBTRACT = 4;
+    private static final int MULTIPLY_DIVIDE = 5;
+    private static final int EXPONENT = 6;
+    private static final int RUNTIME_FUNCTION = 7;
+    private static final int BUILTIN_FUNCTION = 8;
+    private static final int LET = 9;
+
+    private ExpressionCodec() {}
+
+    /**
+     * @param expression The expression
+     * @return The versioned encoding of the expression
+     */
+    public static byte[] encode(Expression expression) {
+        var writer = new Writer();
+        writer.writeByte(VERSION);
+        writer.writeExpression(expression);
+        return writer.toByteArray();
+    }
+
+    /**
+     * @param data        The encoding produced by {@link #encode(Expression)}
+     * @param definitions The definitions that names are resolved against
+     * @return The decoded expression
+     */
+    public static Expression decode(byte[] data, Definitions definitions) {
+        var reader = new Reader(ByteBuffer.wrap(data), definitions);
+        checkVersion(reader.readByte());
+        return reader.readExpression();
+    }
+
+    /**
+     * @param version The version read from an encoding
+     * @throws IllegalArgumentException If the version isn't supported
+     */
+    public static void checkVersion(int version) {
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported format version " + version);
+        }
+    }
+
+    /**
+     * Accumulates an encoding in a growable buffer.
+     */
+    public static final class Writer {
+
+        private byte[] buffer;
+        private int size;
+
+        public Writer() {
+            this.buffer = new byte[256];
+        }
+
+        public void writeByte(int value) {
+            this.ensure(1);
+            this.buffer[this.size++] = (byte) value;
+        }
+
+        public void writeInt(int value) {
+            this.ensure(Integer.BYTES);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                this.buffer[this.size++] = (byte) (value >>> shift);
+            }
+        }
+
+        /**
+         * Writes a non-negative integer in as few bytes as possible, seven bits per byte.
+         */
+        public void writeVarInt(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Value cannot be negative");
+            }
+            this.ensure(5);
+            while (value >= 0x80) {
+                this.buffer[this.size++] = (byte) (value | 0x80);
+                value >>>= 7;
+            }
+            this.buffer[this.size++] = (byte) value;
+        }
+
+        public void writeDouble(double value) {
+            var bits = Double.doubleToRawLongBits(value);
+            this.writeInt((int) (bits >>> 32));
+            this.writeInt((int) bits);
+        }
+
+        public void writeString(String value) {
+            this.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Writes a length followed by the bytes.
+         */
+        public void writeBytes(byte[] value) {
+            this.writeVarInt(value.length);
+            this.ensure(value.length);
+            System.arraycopy(value, 0, this.buffer, this.size, value.length);
+            this.size += value.length;
+        }
+
+        /**
+         * Writes the name pool of the expression, followed by its nodes.
+         */
+        public void writeExpression(Expression expression) {
+            var names = new HashMap<String, Integer>();
+            var pool = new ArrayList<String>();
+            expression.accept(new NameCollector(names, pool));
+
+            this.writeVarInt(pool.size());
+            pool.forEach(this::writeString);
+            expression.accept(new NodeWriter(this, names));
+        }
+
+        public int size() {
+            return this.size;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(this.buffer, this.size);
+        }
+
+        private void ensure(int bytes) {
+            if (this.size + bytes > this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.size + bytes));
+            }
+        }
+    }
+
+    /**
+     * Decodes from a buffer, starting at its position. The buffer may be a memory-mapped file.
+     */
+    public static final class Reader {
+
+        private final ByteBuffer buffer;
+        private final Definitions definitions;
+
+        /**
+         * @param buffer      The big-endian buffer, which is read from its position onwards and advanced as values are
+         *                    read
+         * @param definitions The definitions that names are resolved against
+         */
+        public Reader(ByteBuffer buffer, Definitions definitions) {
+            this.buffer = buffer;
+            this.definitions = definitions;
+        }
+
+        public int readByte() {
+            return this.buffer.get() & 0xFF;
+        }
+
+        public int readInt() {
+            return this.buffer.getInt();
+        }
+
+        public int readVarInt() {
+            var value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                var b = this.buffer.get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    if (value < 0) {
+                        break;
+                    }
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable-length integer");
+        }
+
+        public double readDouble() {
+            return this.buffer.getDouble();
+        }
+
+        public String readString() {
+            var length = this.readVarInt();
+            var position = this.buffer.position();
+            var value = StandardCharsets.UTF_8.decode(this.buffer.slice(position, length)).toString();
+            this.buffer.position(position + length);
+            return value;
+        }
+
+        /**
+         * Reads the name pool of an expression, followed by its nodes.
+         */
+        public Expression readExpression() {
+            var pool = new String[this.readVarInt()];
+            for (int i = 0; i < pool.length; i++) {
+                pool[i] = this.readString();
+            }
+            return new NodeReader(this, pool).read();
+        }
+
+        public ByteBuffer getBuffer() {
+            return this.buffer;
+        }
+    }
+
+    private static final class NameCollector implements ExpressionVisitor<Void> {
+
+        private final Map<String, Integer> names;
+        private final List<String> pool;
+
+        private NameCollector(Map<String, Integer> names, List<String> pool) {
+            this.names = names;
+            this.pool = pool;
+        }
+
+        private void add(String name) {
+            if (this.names.putIfAbsent(name, this.pool.size()) == null) {
+                this.pool.add(name);
+            }
+        }
+
+        private void addAll(Collection<Expression> expressions) {
+            for (var exp : expressions) {
+                exp.accept(this);
+            }
+        }
+
+        @Override
+        public Void visit(Literal literal) {
+            return null;
+        }
+
+        @Override
+        public Void visit(Variable variable) {
+            this.add(variable.variable());
+            return null;
+        }
+
+        @Override
+        public Void visit(LocalVariable variable) {
+            this.add(variable.variable());
+            return null;
+        }
+
+        @Override
+        public Void visit(AddSubtract addSubtract) {
+            this.addAll(addSubtract.add());
+            this.addAll(addSubtract.subtract());
+            return null;
+        }
+
+        @Override
+        public Void visit(MultiplyDivide multiplyDivide) {
+            this.addAll(multiplyDivide.multiply());
+            this.addAll(multiplyDivide.divide());
+            return null;
+        }
+
+        @Override
+        public Void visit(Exponent exponent) {
+            exponent.base().accept(this);
+            exponent.power().accept(this);
+            return null;
+        }
+
+        @Override
+        public Void visit(RuntimeFunction function) {
+            this.add(function.name());
+            this.addAll(function.args());
+            return null;
+        }
+
+        @Override
+        public Void visit(BuiltinFunction function) {
+            this.add(function.function().getName());
+            this.addAll(function.args());
+            return null;
+        }
+
+        @Override
+        public Void visit(Let let) {
+            this.addAll(let.bindings());
+            let.body().accept(this);
+            return null;
+        }
+    }
+
+    private static final class NodeWriter implements ExpressionVisitor<Void> {
+
+        private final Writer out;
+        private final Map<String, Integer> names;
+
+        private NodeWriter(Writer out, Map<String, Integer> names) {
+            this.out = out;
+            this.names = names;
+        }
+
+        private void writeAll(Collection<Expression> expressions) {
+            this.out.writeVarInt(expressions.size());
+            for (var exp : expressions) {
+                exp.accept(this);
+            }
+        }
+
+        @Override
+        public Void visit(Literal literal) {
+            var value = literal.value();
+            var integer = (int) value;
+            // Most literals are small whole numbers, which fit in a byte or two. Negative zero keeps its full encoding.
+            if (integer == value && integer >= 0 && (integer != 0 || Double.doubleToRawLongBits(value) == 0)) {
+                this.out.writeByte(INTEGER);
+                this.out.writeVarInt(integer);
+            } else {
+                this.out.writeByte(LITERAL);
+                this.out.writeDouble(value);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Variable variable) {
+            this.out.writeByte(VARIABLE);
+            this.out.writeVarInt(this.names.get(variable.variable()));
+            return null;
+        }
+
+        @Override
+        public Void visit(LocalVariable variable) {
+            this.out.writeByte(LOCAL_VARIABLE);
+            this.out.writeVarInt(this.names.get(variable.variable()));
+            this.out.writeVarInt(variable.slot());
+            return null;
+        }
+
+        @Override
+        public Void visit(AddSubtract addSubtract) {
+            this.out.writeByte(ADD_SUBTRACT);
+            this.writeAll(addSubtract.add());
+            this.writeAll(addSubtract.subtract());
+            return null;
+        }
+
+        @Override
+        public Void visit(MultiplyDivide multiplyDivide) {
+            this.out.writeByte(MULTIPLY_DIVIDE);
+            this.writeAll(multiplyDivide.multiply());
+            this.writeAll(multiplyDivide.divide());
+            return null;
+        }
+
+        @Override
+        public Void visit(Exponent exponent) {
+            this.out.writeByte(EXPONENT);
+            exponent.base().accept(this);
+            exponent.power().accept(this);
+            return null;
+        }
+
+        @Override
+        public Void visit(RuntimeFunction function) {
+            this.out.writeByte(RUNTIME_FUNCTION);
+            this.out.writeVarInt(this.names.get(function.name()));
+            this.writeAll(function.args());
+            return null;
+        }
+
+        @Override
+        public Void visit(BuiltinFunction function) {
+            // Written by name rather than ordinal, so that adding built-ins doesn't invalidate existing encodings
+            this.out.writeByte(BUILTIN_FUNCTION);
+            this.out.writeVarInt(this.names.get(function.function().getName()));
+            this.writeAll(function.args());
+            return null;
+        }
+
+        @Override
+        public Void visit(Let let) {
+            this.out.writeByte(LET);
+            this.out.writeVarInt(let.slot());
+            this.writeAll(let.bindings());
+            let.body().accept(this);
+            return null;
+        }
+    }
+
+    private static final class NodeReader {
+
+        private final Reader in;
+        private final String[] pool;
+        // Slots are resolved on first use, since a name is only ever used as either a variable or a function
+        private final int[] globals;
+        private final int[] functions;
+
+        private NodeReader(Reader in, String[] pool) {
+            this.in = in;
+            this.pool = pool;
+            this.globals = new int[pool.length];
+            this.functions = new int[pool.length];
+            Arrays.fill(this.globals, -1);
+            Arrays.fill(this.functions, -1);
+        }
+
+        private Expression read() {
+            var tag = this.in.readByte();
+            return switch (tag) {
+                case LITERAL -> new Literal(this.in.readDouble());
+                case INTEGER -> new Literal(this.in.readVarInt());
+                case VARIABLE -> {
+                    var index = this.name();
+                    if (this.globals[index] < 0) {
+                        this.globals[index] = this.in.definitions.globalSlot(this.pool[index]);
+                    }
+                    yield new Variable(this.pool[index], this.globals[index]);
+                }
+                case LOCAL_VARIABLE -> new LocalVariable(this.pool[this.name()], this.in.readVarInt());
+                case ADD_SUBTRACT -> new AddSubtract(this.readAll(), this.readAll());
+                case MULTIPLY_DIVIDE -> new MultiplyDivide(this.readAll(), this.readAll());
+                case EXPONENT -> new Exponent(this.read(), this.read());
+                case RUNTIME_FUNCTION -> {
+                    var index = this.name();
+                    if (this.functions[index] < 0) {
+                        this.functions[index] = this.in.definitions.functionSlot(this.pool[index]);
+                    }
+                    yield new RuntimeFunction(this.pool[index], this.functions[index], this.readAll());
+                }
+                case BUILTIN_FUNCTION -> {
+                    var name = this.pool[this.name()];
+                    var function = Builtin.getByName(name)
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown built-in function " + name));
+                    yield new BuiltinFunction(function, this.readAll());
+                }
+                case LET -> {
+                    var slot = this.in.readVarInt();
+                    var bindings = this.readAll();
+                    yield new Let(bindings, slot, this.read());
+                }
+                default -> throw new IllegalArgumentException("Invalid node tag " + tag);
+            };
+        }
+
+        private List<Expression> readAll() {
+            var expressions = new Expression[this.in.readVarInt()];
+            for (int i = 0; i < expressions.length; i++) {
+                expressions[i] = this.read();
+            }
+            return List.of(expressions);
+        }
+
+        private int name() {
+            var index = this.in.readVarInt();
+            if (index >= this.pool.length) {
+                throw new IllegalArgumentException("Invalid name index " + index);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package me.zero.expressions.expression.codec;
+
+import me.zero.expressions.expression.Definitions;
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.FunctionDescriptor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Saves and loads every function of a set of {@link Definitions} in the format of {@link ExpressionCodec}, so that a
+ * large library of functions can be loaded without parsing any source.
+ * <p>
+ * A library starts with an index holding the name, argument names and location of each function body, followed by
+ * the bodies themselves. Loading only reads the index; each body is decoded the first time the function is called
+ * or inspected. Files are memory-mapped read-only, so processes loading the same library share its pages, and bodies
+ * that are never called are never read from disk.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class FunctionLibrary {
+
+    /**
+     * The first four bytes of every library, {@code EXPL}.
+     */
+    private static final int MAGIC = 0x4558504C;
+
+    private FunctionLibrary() {}
+
+    /**
+     * @param definitions The definitions whose functions are saved
+     * @return The encoded library
+     */
+    public static byte[] encode(Definitions definitions) {
+        var snapshot = definitions.snapshot();
+        var symbols = definitions.getFunctionSymbols();
+
+        var index = new ExpressionCodec.Writer();
+        var bodies = new ExpressionCodec.Writer();
+        var count = 0;
+        for (int slot = 0; slot < symbols.size(); slot++) {
+            if (!snapshot.hasFunction(slot)) {
+                continue;
+            }
+            var function = snapshot.function(slot);
+            var offset = bodies.size();
+            bodies.writeExpression(function.getBody());
+
+            index.writeString(symbols.name(slot));
+            index.writeVarInt(function.getArity());
+            function.getArguments().forEach(index::writeString);
+            index.writeVarInt(offset);
+            index.writeVarInt(bodies.size() - offset);
+            count++;
+        }
+
+        var out = new ExpressionCodec.Writer();
+        out.writeInt(MAGIC);
+        out.writeByte(ExpressionCodec.VERSION);
+        out.writeVarInt(count);
+        var header = out.toByteArray();
+
+        var library = new byte[header.length + index.size() + bodies.size()];
+        System.arraycopy(header, 0, library, 0, header.length);
+        System.arraycopy(index.toByteArray(), 0, library, header.length, index.size());
+        System.arraycopy(bodies.toByteArray(), 0, library, header.length + index.size(), bodies.size());
+        return library;
+    }
+
+    /**
+     * @param definitions The definitions whose functions are saved
+     * @param file        The library file, which is replaced if it exists
+     * @throws IOException If the file can't be written
+     */
+    public static void save(Definitions definitions, Path file) throws IOException {
+        Files.write(file, encode(definitions));
+    }
+
+    /**
+     * Maps a library file and defines each of its functions. Function bodies are decoded on first use.
+     *
+     * @param file        The library file
+     * @param definitions The definitions receiving the functions
+     * @return The names of the loaded functions
+     * @throws IOException If the file can't be read
+     */
+    public static List<String> load(Path file, Definitions definitions) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping remains valid once the channel is closed
+            return load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), definitions);
+        }
+    }
+
+    /**
+     * Defines each function of a library. The buffer must not be modified afterwards, since function bodies are
+     * decoded from it on first use.
+     *
+     * @param library     The encoded library, read from its position onwards
+     * @param definitions The definitions receiving the functions
+     * @return The names of the loaded functions
+     */
+    public static List<String> load(ByteBuffer library, Definitions definitions) {
+        var data = library.slice();
+        var in = new ExpressionCodec.Reader(data, definitions);
+        if (data.remaining() < Integer.BYTES || in.readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a function library");
+        }
+        ExpressionCodec.checkVersion(in.readByte());
+
+        var count = in.readVarInt();
+        var names = new String[count];
+        var arguments = new ArrayList<List<String>>(count);
+        var offsets = new int[count];
+        var lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = in.readString();
+            var args = new String[in.readVarInt()];
+            for (int j = 0; j < args.length; j++) {
+                args[j] = in.readString();
+            }
+            arguments.add(List.of(args));
+            offsets[i] = in.readVarInt();
+            lengths[i] = in.readVarInt();
+        }
+
+        // Offsets are relative to the end of the index
+        var bodies = data.slice(data.position(), data.remaining());
+        var functions = new LinkedHashMap<String, FunctionDescriptor>();
+        for (int i = 0; i < count; i++) {
+            if (offsets[i] + lengths[i] > bodies.limit() || offsets[i] + lengths[i] < 0) {
+                throw new IllegalArgumentException("Function " + names[i] + " extends past the end of the library");
+            }
+            functions.put(names[i], new LazyFunction(arguments.get(i), bodies, offsets[i], lengths[i], definitions));
+        }
+        definitions.addFunctions(functions);
+        return List.of(names);
+    }
+
+    /**
+     * A function whose body is decoded from the library the first time it's needed.
+     */
+    private static final class LazyFunction implements FunctionDescriptor {
+
+        private final List<String> arguments;
+        private final int arity;
+        private ByteBuffer bodies;
+        private final int offset;
+        private final int length;
+        private Definitions definitions;
+        private volatile Expression body;
+
+        private LazyFunction(List<String> arguments, ByteBuffer bodies, int offset, int length,
+                             Definitions definitions) {
+            this.arguments = arguments;
+            this.arity = arguments.size();
+            this.bodies = bodies;
+            this.offset = offset;
+            this.length = length;
+            this.definitions = definitions;
+        }
+
+        @Override
+        public List<String> getArguments() {
+            return this.arguments;
+        }
+
+        @Override
+        public int getArity() {
+            return this.arity;
+        }
+
+        @Override
+        public Expression getBody() {
+            var body = this.body;
+            if (body == null) {
+                synchronized (this) {
+                    body = this.body;
+                    if (body == null) {
+                        // Absolute slice, so concurrent decodes of other functions don't share a position
+                        var data = this.bodies.slice(this.offset, this.length);
+                        body = new ExpressionCodec.Reader(data, this.definitions).readExpression();
+                        this.body = body;
+                        // Released so that the mapping can be unmapped once every body has been decoded
+                        this.bodies = null;
+                        this.definitions = null;
+                    }
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public double eval(Evaluator ev) {
+            return this.getBody().eval(ev);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package me.zero.expressions.expression.evaluate;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
+import me.zero.expressions.expression.ast.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Evaluates an expression over many rows at once. Input is provided as one {@code double[]} column per variable,
+ * and rather than walking the tree once per row, each node is visited once per block of rows and computes all of
+ * them in a tight loop. Variables without a column are read from the globals of the {@link Evaluator}.
+ * <p>
+ * Every row produces exactly the same result as {@link Expression#eval(Evaluator)} would. Scratch buffers are
+ * reused between blocks, so an instance should be kept around and isn't safe for concurrent use.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class BatchEvaluator implements ExpressionVisitor<double[]> {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final Evaluator evaluator;
+    private final int blockSize;
+    private final ArrayDeque<double[]> buffers;
+
+    // Function arguments of every active call, the current frame begins at fp
+    private final ArrayList<double[]> frames;
+    private int fp;
+
+    // Per-block state
+    private double[][] columns;
+    private int offset;
+    private int length;
+
+    public BatchEvaluator(Evaluator evaluator) {
+        this(evaluator, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param evaluator The evaluator providing globals and functions
+     * @param blockSize The number of rows computed by each pass over the tree. Every node holds one buffer of this
+     *                  size while it is being evaluated, so it should be small enough to stay in cache.
+     */
+    public BatchEvaluator(Evaluator evaluator, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.evaluator = evaluator;
+        this.blockSize = blockSize;
+        this.buffers = new ArrayDeque<>();
+        this.frames = new ArrayList<>();
+    }
+
+    /**
+     * @param expression The expression
+     * @param columns    The input columns, keyed by variable name
+     * @param output     The array receiving one result per row
+     */
+    public void evaluate(Expression expression, Map<String, double[]> columns, double[] output) {
+        this.evaluate(expression, this.bind(columns), output, 0, output.length);
+    }
+
+    /**
+     * @param expression The expression
+     * @param columns    The input columns, indexed by global slot. A {@code null} column is read from the globals.
+     * @param output     The array receiving one result per row
+     * @param offset     The first row to evaluate
+     * @param length     The number of rows to evaluate
+     */
+    public void evaluate(Expression expression, double[][] columns, double[] output, int offset, int length) {
+        for (var column : columns) {
+            if (column != null && column.length < offset + length) {
+                throw new IllegalArgumentException("Column is shorter than the requested range");
+            }
+        }
+        if (output.length < offset + length) {
+            throw new IllegalArgumentException("Output is shorter than the requested range");
+        }
+
+        this.evaluator.begin();
+        this.columns = columns;
+        try {
+            for (int start = offset; start < offset + length; start += this.blockSize) {
+                this.offset = start;
+                this.length = Math.min(this.blockSize, offset + length - start);
+
+                var result = expression.accept(this);
+                System.arraycopy(result, 0, output, start, this.length);
+                this.release(result);
+            }
+        } finally {
+            this.columns = null;
+            this.frames.clear();
+            this.fp = 0;
+        }
+    }
+
+    /**
+     * Converts name-keyed columns into the slot-indexed form accepted by
+     * {@link #evaluate(Expression, double[][], double[], int, int)}.
+     *
+     * @param columns The input columns, keyed by variable name
+     * @return The input columns, indexed by global slot
+     */
+    public double[][] bind(Map<String, double[]> columns) {
+        var bound = new double[0][];
+        for (var entry : columns.entrySet()) {
+            var slot = this.evaluator.globalSlot(entry.getKey());
+            if (slot >= bound.length) {
+                bound = Arrays.copyOf(bound, slot + 1);
+            }
+            bound[slot] = entry.getValue();
+        }
+        return bound;
+    }
+
+    @Override
+    public double[] visit(Literal literal) {
+        var out = this.acquire();
+        Arrays.fill(out, 0, this.length, literal.value());
+        return out;
+    }
+
+    @Override
+    public double[] visit(Variable variable) {
+        var out = this.acquire();
+        var slot = variable.slot();
+        if (slot < this.columns.length && this.columns[slot] != null) {
+            System.arraycopy(this.columns[slot], this.offset, out, 0, this.length);
+        } else {
+            Arrays.fill(out, 0, this.length, this.evaluator.global(slot));
+        }
+        return out;
+    }
+
+    @Override
+    public double[] visit(LocalVariable variable) {
+        var out = this.acquire();
+        System.arraycopy(this.frames.get(this.fp + variable.slot()), 0, out, 0, this.length);
+        return out;
+    }
+
+    @Override
+    public double[] visit(AddSubtract addSubtract) {
+        var n = this.length;
+        var sum = this.acquire();
+        Arrays.fill(sum, 0, n, 0.0d);
+        for (var exp : addSubtract.add()) {
+            var term = exp.accept(this);
+            for (int i = 0; i < n; i++) {
+                sum[i] += term[i];
+            }
+            this.release(term);
+        }
+        if (!addSubtract.subtract().isEmpty()) {
+            var difference = this.acquire();
+            Arrays.fill(difference, 0, n, 0.0d);
+            for (var exp : addSubtract.subtract()) {
+                var term = exp.accept(this);
+                for (int i = 0; i < n; i++) {
+                    difference[i] += term[i];
+                }
+                this.release(term);
+            }
+            for (int i = 0; i < n; i++) {
+                sum[i] -= difference[i];
+            }
+            this.release(difference);
+        }
+        return sum;
+    }
+
+    @Override
+    public double[] visit(MultiplyDivide multiplyDivide) {
+        var n = this.length;
+        var product = this.product(multiplyDivide.multiply());
+        if (!multiplyDivide.divide().isEmpty()) {
+            var divisor = this.product(multiplyDivide.divide());
+            for (int i = 0; i < n; i++) {
+                product[i] /= divisor[i];
+            }
+            this.release(divisor);
+        }
+        return product;
+    }
+
+    @Override
+    public double[] visit(Exponent exponent) {
+        var n = this.length;
+        var base = exponent.base().accept(this);
+        var power = exponent.power().accept(this);
+        for (int i = 0; i < n; i++) {
+            base[i] = Math.pow(base[i], power[i]);
+        }
+        this.release(power);
+        return base;
+    }
+
+    @Override
+    public double[] visit(RuntimeFunction function) {
+        var args = function.args();
+        var base = this.frames.size();
+        for (var arg : args) {
+            this.frames.add(arg.accept(this));
+        }
+
+        var func = this.evaluator.function(function.slot());
+        if (func.getArity() != args.size()) {
+            throw new IllegalArgumentException("Specified arguments do not match expected count!");
+        }
+
+        // The body is evaluated across the whole block with the argument columns as its frame
+        this.evaluator.enter(function.slot());
+        var caller = this.fp;
+        this.fp = base;
+        var ret = func.getBody().accept(this);
+        this.fp = caller;
+        this.evaluator.exit();
+
+        this.popFrames(base);
+        return ret;
+    }
+
+    @Override
+    public double[] visit(BuiltinFunction function) {
+        var n = this.length;
+        var func = function.function();
+        var a = function.args().get(0).accept(this);
+        if (function.args().size() == 1) {
+            for (int i = 0; i < n; i++) {
+                a[i] = func.compute(a[i], 0.0d);
+            }
+            return a;
+        }
+        var b = function.args().get(1).accept(this);
+        for (int i = 0; i < n; i++) {
+            a[i] = func.compute(a[i], b[i]);
+        }
+        this.release(b);
+        return a;
+    }
+
+    @Override
+    public double[] visit(Let let) {
+        var base = this.frames.size();
+        for (var binding : let.bindings()) {
+            this.frames.add(binding.accept(this));
+        }
+        var ret = let.body().accept(this);
+        this.popFrames(base);
+        return ret;
+    }
+
+    private double[] product(Iterable<Expression> factors) {
+        var n = this.length;
+        double[] product = null;
+        for (var exp : factors) {
+            var factor = exp.accept(this);
+            if (product == null) {
+                // Multiplying by the initial 1.0 is exact, so the first factor can be used as-is
+                product = factor;
+                continue;
+            }
+            for (int i = 0; i < n; i++) {
+                product[i] *= factor[i];
+            }
+            this.release(factor);
+        }
+        if (product == null) {
+            product = this.acquire();
+            Arrays.fill(product, 0, n, 1.0d);
+        }
+        return product;
+    }
+
+    private void popFrames(int base) {
+        for (int i = this.frames.size() - 1; i >= base; i--) {
+            this.release(this.frames.remove(i));
+        }
+    }
+
+    private double[] acquire() {
+        var buffer = this.buffers.poll();
+        return buffer != null ? buffer : new double[this.blockSize];
+    }
+
+    private void release(double[] buffer) {
+        this.buffers.push(buffer);
+    }
+}
@@ -0,0 +1,117 @@
+package me.zero.expressions.expression.evaluate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least recently used mapping from statement source to its {@link CompiledExpression}. Entries that call
+ * a function are invalidated when that function is redefined, so a cached statement is never older than the
+ * definitions it was compiled against. All operations are synchronized.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class CompileCache {
+
+    private final int maximumSize;
+    private final LinkedHashMap<String, CompiledExpression> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param maximumSize The maximum number of entries held before the least recently used one is evicted
+     */
+    public CompileCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                if (this.size() > CompileCache.this.maximumSize) {
+                    CompileCache.this.evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param source The statement source
+     * @return The cached statement, or {@code null} if there isn't one
+     */
+    public synchronized CompiledExpression get(String source) {
+        var compiled = this.entries.get(source);
+        if (compiled != null) {
+            this.hits++;
+        } else {
+            this.misses++;
+        }
+        return compiled;
+    }
+
+    public synchronized void put(String source, CompiledExpression compiled) {
+        this.entries.put(source, compiled);
+    }
+
+    /**
+     * Removes every entry that calls the function in the specified slot.
+     *
+     * @param functionSlot The slot of the redefined function
+     */
+    public synchronized void invalidate(int functionSlot) {
+        // Redefinitions are rare compared to lookups, so a scan is preferred over maintaining a reverse index
+        var it = this.entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().getDependencies().get(functionSlot)) {
+                it.remove();
+                this.invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * @return The number of entries removed to stay within the maximum size
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * @return The number of entries removed because a function they call was redefined
+     */
+    public synchronized long getInvalidations() {
+        return this.invalidations;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CompileCache[size=%d, maximumSize=%d, hits=%d, misses=%d, evictions=%d, invalidations=%d]".formatted(
+            this.entries.size(), this.maximumSize, this.hits, this.misses, this.evictions, this.invalidations);
+    }
+}
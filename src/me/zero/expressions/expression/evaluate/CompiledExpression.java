@@ -0,0 +1,270 @@
+package me.zero.expressions.expression.evaluate;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionTransformer;
+import me.zero.expressions.expression.ast.RuntimeFunction;
+import me.zero.expressions.expression.codec.ExpressionCodec;
+import me.zero.expressions.expression.evaluate.bytecode.BytecodeCompiler;
+import me.zero.expressions.expression.evaluate.interpreter.Program;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * A statement that has already been tokenized and built into an AST, which may be evaluated any number of times
+ * without repeating the parse. Variables are resolved to slots of the {@link Evaluator} owned by the engine that
+ * compiled the statement, so it should only be evaluated against that evaluator.
+ * <p>
+ * Functions called by the statement are inlined into it when it's compiled. If one of them is redefined, the engine
+ * inlines the new definition in place, so a statement always reflects the latest definitions once the redefinition
+ * has returned.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class CompiledExpression {
+
+    private final String source;
+    private final Kind kind;
+    private final String symbol;
+    private final int slot;
+    private final List<String> arguments;
+    private final Expression original;
+    private final Backend backend;
+    private final ExpressionEngine engine;
+    private volatile Linked linked;
+
+    /**
+     * @param expression The simplified expression, before any functions are inlined. For definitions, this is the
+     *                   final body.
+     * @param engine     The engine that compiled the statement
+     */
+    CompiledExpression(String source, Kind kind, String symbol, int slot, List<String> arguments,
+                       Expression expression, ExpressionEngine engine) {
+        this(source, kind, symbol, slot, arguments, expression, Backend.TREE, engine, null);
+    }
+
+    private CompiledExpression(String source, Kind kind, String symbol, int slot, List<String> arguments,
+                               Expression original, Backend backend, ExpressionEngine engine, Linked linked) {
+        this.source = source;
+        this.kind = kind;
+        this.symbol = symbol;
+        this.slot = slot;
+        this.arguments = List.copyOf(arguments);
+        this.original = original;
+        this.backend = backend;
+        this.engine = engine;
+        this.linked = linked != null
+            ? new Linked(linked.expression, backend.compile(linked.expression), linked.dependencies)
+            : this.link();
+
+        // Only statements that call a function can be affected by a redefinition
+        if (kind != Kind.DEFINITION && !this.linked.dependencies.isEmpty()) {
+            engine.track(this);
+        }
+    }
+
+    /**
+     * Returns an equivalent statement whose expression is evaluated by a class generated with
+     * {@link BytecodeCompiler}, rather than by walking the tree. Generating the class has a considerable up-front cost,
+     * so this is intended for long-lived statements that are evaluated many times. Function definitions are returned
+     * as-is, since their bodies are only evaluated through calls.
+     *
+     * @return The bytecode backed statement
+     */
+    public CompiledExpression toBytecode() {
+        if (this.kind == Kind.DEFINITION || this.backend != Backend.TREE) {
+            return this;
+        }
+        return new CompiledExpression(this.source, this.kind, this.symbol, this.slot, this.arguments, this.original,
+            Backend.BYTECODE, this.engine, this.linked);
+    }
+
+    /**
+     * Returns an equivalent statement whose expression is lowered into a {@link Program} of flat instructions, which
+     * avoids the recursion of walking the tree without the up-front cost of {@link #toBytecode()}. Function
+     * definitions are returned as-is.
+     *
+     * @return The interpreted statement
+     */
+    public CompiledExpression toProgram() {
+        if (this.kind == Kind.DEFINITION || this.backend != Backend.TREE) {
+            return this;
+        }
+        return new CompiledExpression(this.source, this.kind, this.symbol, this.slot, this.arguments, this.original,
+            Backend.PROGRAM, this.engine, this.linked);
+    }
+
+    /**
+     * Encodes this statement in the format of {@link ExpressionCodec}, so that it can be loaded by
+     * {@link ExpressionEngine#decode(java.nio.ByteBuffer)} without being parsed again. The expression is encoded before any
+     * functions are inlined, since they're inlined against the definitions of the engine that loads it.
+     *
+     * @return The encoded statement
+     */
+    public byte[] encode() {
+        var out = new ExpressionCodec.Writer();
+        out.writeByte(ExpressionCodec.VERSION);
+        out.writeByte(this.kind.ordinal());
+        out.writeString(this.source);
+        out.writeString(this.symbol != null ? this.symbol : "");
+        out.writeVarInt(this.arguments.size());
+        this.arguments.forEach(out::writeString);
+        out.writeExpression(this.original);
+        return out.toByteArray();
+    }
+
+    /**
+     * Executes this statement against the specified evaluator. Plain expressions and variable assignments produce
+     * a value, function definitions produce an empty result.
+     *
+     * @param ev The evaluator
+     * @return The result of the statement, if any
+     */
+    public OptionalDouble eval(Evaluator ev) {
+        return switch (this.kind) {
+            case EXPRESSION -> OptionalDouble.of(ev.evaluate(this.linked.evaluable));
+            case ASSIGNMENT -> {
+                // TODO: Address recursive reference for redefinition
+                var val = ev.evaluate(this.linked.evaluable);
+                ev.setGlobal(this.slot, val);
+                yield OptionalDouble.of(val);
+            }
+            case DEFINITION -> {
+                ev.addFunction(this.symbol, this.arguments, this.original);
+                yield OptionalDouble.empty();
+            }
+        };
+    }
+
+    /**
+     * Evaluates the expression of a plain expression or assignment, without assigning the result.
+     *
+     * @param ev The evaluator
+     * @return The value of the expression
+     */
+    double value(Evaluator ev) {
+        return ev.evaluate(this.linked.evaluable);
+    }
+
+    public String getSource() {
+        return this.source;
+    }
+
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * @return The assigned variable or defined function name, or {@code null} for a plain expression
+     */
+    public String getSymbol() {
+        return this.symbol;
+    }
+
+    /**
+     * @return The argument names of a function definition, otherwise empty
+     */
+    public List<String> getArguments() {
+        return this.arguments;
+    }
+
+    /**
+     * @return The expression, or for assignments and definitions, the right hand side, with any functions inlined
+     */
+    public Expression getExpression() {
+        return this.linked.expression;
+    }
+
+    /**
+     * @return The expression as it was built, with calls to user defined functions not yet inlined
+     */
+    Expression getOriginal() {
+        return this.original;
+    }
+
+    /**
+     * @return The slots of every function called or inlined by this statement, which must not be modified
+     */
+    BitSet getDependencies() {
+        return this.linked.dependencies;
+    }
+
+    /**
+     * Inlines functions into the expression again if the specified function is one of its dependencies, so that
+     * the statement reflects the function's new definition.
+     *
+     * @param functionSlot The slot of the redefined function
+     */
+    synchronized void relink(int functionSlot) {
+        if (this.linked.dependencies.get(functionSlot)) {
+            this.linked = this.link();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.source;
+    }
+
+    private Linked link() {
+        if (this.kind == Kind.DEFINITION) {
+            // Calls within a body remain calls, so that redefining the callee is visible through the slot
+            return new Linked(this.original, this.original, findDependencies(this.original));
+        }
+        var inlined = new BitSet();
+        var expression = this.engine.link(this.original, inlined);
+        var dependencies = findDependencies(expression);
+        dependencies.or(inlined);
+        return new Linked(expression, this.backend.compile(expression), dependencies);
+    }
+
+    private static BitSet findDependencies(Expression expression) {
+        var slots = new BitSet();
+        new ExpressionTransformer() {
+            @Override
+            public Expression visit(RuntimeFunction function) {
+                slots.set(function.slot());
+                return super.visit(function);
+            }
+        }.transform(expression);
+        return slots;
+    }
+
+    /**
+     * The expression of a statement after functions have been inlined, which is replaced whenever an inlined function
+     * is redefined.
+     */
+    private record Linked(Expression expression, Evaluable evaluable, BitSet dependencies) {}
+
+    private enum Backend {
+        TREE {
+            @Override
+            Evaluable compile(Expression expression) {
+                return expression;
+            }
+        },
+        BYTECODE {
+            @Override
+            Evaluable compile(Expression expression) {
+                return BytecodeCompiler.compile(expression);
+            }
+        },
+        PROGRAM {
+            @Override
+            Evaluable compile(Expression expression) {
+                return Program.compile(expression);
+            }
+        };
+
+        abstract Evaluable compile(Expression expression);
+    }
+
+    public enum Kind {
+        EXPRESSION,
+        ASSIGNMENT,
+        DEFINITION
+    }
+}
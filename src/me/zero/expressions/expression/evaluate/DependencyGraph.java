@@ -0,0 +1,412 @@
+package me.zero.expressions.expression.evaluate;
+
+import me.zero.expressions.expression.Definitions;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Keeps global variables that are assigned through it as formulas rather than values, like the cells of a
+ * spreadsheet. Whenever a variable changes, whether it's given a new value or a new formula, every formula that
+ * depends on it, directly or transitively, is evaluated again, each exactly once and only after all of its inputs.
+ * Redefining a function likewise recomputes every formula that calls it. Assignments and function definitions that
+ * would make a variable depend on itself are rejected.
+ * <p>
+ * Formulas are recomputed in waves, where every formula of a wave only depends on earlier waves, and the values of
+ * each wave are published together. If an executor is provided, large waves are split between its threads, each
+ * evaluating with its own {@link me.zero.expressions.expression.Evaluator}.
+ * <p>
+ * Only changes made through the graph are tracked, variables assigned directly through the engine don't trigger a
+ * recomputation. All operations are synchronized.
+ * <p>
+ * The graph registers itself with the definitions of its engine to follow changes to functions, and must be closed once
+ * it's no longer used so that the engine doesn't keep it reachable.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class DependencyGraph implements AutoCloseable {
+
+    /**
+     * The minimum number of formulas evaluated by a single task when a wave is split between threads.
+     */
+    private static final int CHUNK_SIZE = 32;
+
+    private final ExpressionEngine engine;
+    private final Definitions definitions;
+    private final Executor executor;
+
+    // Indexed by global slot, the formula assigned to the variable, the variables it reads and the formulas reading it
+    private CompiledExpression[] formulas;
+    private BitSet[] inputs;
+    private BitSet[] dependents;
+
+    // Indexed by global slot, the functions the formula calls or inlined, including through the bodies of other calls
+    private BitSet[] functions;
+
+    // Kept so that they can be unregistered, each evaluation of a method reference creates a new instance
+    private final BiConsumer<Definitions.Snapshot, int[]> validator;
+    private final IntConsumer listener;
+
+    public DependencyGraph(ExpressionEngine engine) {
+        this(engine, null);
+    }
+
+    /**
+     * @param engine   The engine that compiles and evaluates formulas
+     * @param executor The executor that large waves of formulas are evaluated on, or {@code null} to evaluate every
+     *                 formula on the calling thread
+     */
+    public DependencyGraph(ExpressionEngine engine, Executor executor) {
+        this.engine = engine;
+        this.definitions = engine.getDefinitions();
+        this.executor = executor;
+        this.formulas = new CompiledExpression[16];
+        this.inputs = new BitSet[16];
+        this.dependents = new BitSet[16];
+        this.functions = new BitSet[16];
+        this.validator = this::validateFunctions;
+        this.listener = this::onFunctionChanged;
+        this.definitions.addFunctionValidator(this.validator);
+        this.definitions.addFunctionListener(this.listener);
+    }
+
+    /**
+     * Stops following changes to functions. Formulas keep their current values, but are no longer recomputed or
+     * checked for cycles when a function they call is redefined.
+     */
+    @Override
+    public void close() {
+        this.definitions.removeFunctionValidator(this.validator);
+        this.definitions.removeFunctionListener(this.listener);
+    }
+
+    /**
+     * Executes a statement, keeping variable assignments as formulas. Other statements are evaluated by the engine.
+     *
+     * @param statement The statement source
+     * @return The result of the statement, if any
+     */
+    public synchronized OptionalDouble eval(String statement) {
+        var compiled = this.engine.compile(statement);
+        if (compiled.getKind() != CompiledExpression.Kind.ASSIGNMENT) {
+            return this.engine.eval(compiled);
+        }
+        this.define(compiled);
+        return OptionalDouble.of(this.definitions.snapshot().global(this.definitions.globalSlot(compiled.getSymbol())));
+    }
+
+    /**
+     * Assigns a formula to a variable, then recomputes the variable and everything that depends on it.
+     *
+     * @param assignment The compiled assignment
+     * @throws IllegalArgumentException If the statement isn't an assignment, or the formula depends on the variable
+     *                                  being assigned
+     */
+    public synchronized void define(CompiledExpression assignment) {
+        if (assignment.getKind() != CompiledExpression.Kind.ASSIGNMENT) {
+            throw new IllegalArgumentException("Only assignments can be defined as formulas");
+        }
+        var slot = this.definitions.globalSlot(assignment.getSymbol());
+        var functions = new BitSet();
+        var inputs = this.findInputs(assignment, functions);
+        this.checkCycle(slot, inputs, this.inputs);
+
+        this.ensureCapacity(slot);
+        this.link(slot, assignment, inputs, functions);
+
+        var changed = new BitSet();
+        changed.set(slot);
+        this.recompute(changed, true);
+    }
+
+    /**
+     * Assigns a constant value to a variable, replacing any formula, then recomputes everything that depends on it.
+     *
+     * @param identifier The variable name
+     * @param value      The value
+     */
+    public synchronized void set(String identifier, double value) {
+        this.setAll(Map.of(identifier, value));
+    }
+
+    /**
+     * Assigns constant values to several variables, replacing any formulas. Dependents of multiple variables are
+     * recomputed only once.
+     *
+     * @param values The value of each variable, keyed by name
+     */
+    public synchronized void setAll(Map<String, Double> values) {
+        var slots = new int[values.size()];
+        var constants = new double[values.size()];
+        var changed = new BitSet();
+        var i = 0;
+        for (var entry : values.entrySet()) {
+            var slot = this.definitions.globalSlot(entry.getKey());
+            this.ensureCapacity(slot);
+            this.link(slot, null, new BitSet(), new BitSet());
+            slots[i] = slot;
+            constants[i++] = entry.getValue();
+            changed.set(slot);
+        }
+        this.definitions.setGlobals(slots, constants);
+        this.recompute(changed, false);
+    }
+
+    /**
+     * @param identifier The variable name
+     * @return The current value of the variable
+     */
+    public double get(String identifier) {
+        return this.definitions.snapshot().global(this.definitions.globalSlot(identifier));
+    }
+
+    /**
+     * @param identifier The variable name
+     * @return The names of the variables read by the formula assigned to the variable, empty if it has no formula
+     */
+    public synchronized Set<String> getInputs(String identifier) {
+        var slot = this.definitions.getGlobalSymbols().indexOf(identifier);
+        var names = new LinkedHashSet<String>();
+        if (slot >= 0 && slot < this.inputs.length && this.inputs[slot] != null) {
+            this.inputs[slot].stream().forEach(input -> names.add(this.definitions.getGlobalSymbols().name(input)));
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Rejects redefinitions of functions that would make any formula depend on itself, before they're published.
+     */
+    private synchronized void validateFunctions(Definitions.Snapshot proposed, int[] functionSlots) {
+        // Every affected formula is checked against the new inputs of the others, since they may change together
+        var inputs = Arrays.copyOf(this.inputs, this.inputs.length);
+        var affected = new BitSet();
+        for (int slot = 0; slot < this.formulas.length; slot++) {
+            var formula = this.formulas[slot];
+            if (formula == null || !this.callsAny(slot, functionSlots)) {
+                continue;
+            }
+            var reads = new BitSet();
+            proposed.findReads(formula.getOriginal(), reads, new BitSet());
+            inputs[slot] = reads;
+            affected.set(slot);
+        }
+        for (int slot = affected.nextSetBit(0); slot >= 0; slot = affected.nextSetBit(slot + 1)) {
+            this.checkCycle(slot, inputs[slot], inputs);
+        }
+    }
+
+    private boolean callsAny(int slot, int[] functionSlots) {
+        for (var functionSlot : functionSlots) {
+            if (this.functions[slot].get(functionSlot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onFunctionChanged(int functionSlot) {
+        synchronized (this) {
+            var changed = new BitSet();
+            for (int slot = 0; slot < this.formulas.length; slot++) {
+                var formula = this.formulas[slot];
+                if (formula == null || !this.functions[slot].get(functionSlot)) {
+                    continue;
+                }
+                // The new body may read different variables
+                var functions = new BitSet();
+                var inputs = this.findInputs(formula, functions);
+                try {
+                    this.checkCycle(slot, inputs, this.inputs);
+                } catch (IllegalArgumentException e) {
+                    // Only reachable if a formula was defined while the function was being validated. The definition
+                    // has already been published, so the formula is dropped and the variable keeps its last value.
+                    this.link(slot, null, new BitSet(), new BitSet());
+                    continue;
+                }
+                this.link(slot, formula, inputs, functions);
+                changed.set(slot);
+            }
+            if (!changed.isEmpty()) {
+                this.recompute(changed, true);
+            }
+        }
+    }
+
+    /**
+     * Recomputes every formula that depends on the changed variables, in waves ordered by Kahn's algorithm.
+     *
+     * @param changed   The changed variables
+     * @param inclusive Whether the changed variables are formulas that must be recomputed themselves
+     */
+    private void recompute(BitSet changed, boolean inclusive) {
+        // Every formula reachable from the changed variables
+        var affected = new BitSet();
+        var queue = new ArrayDeque<Integer>();
+        changed.stream().forEach(queue::add);
+        if (inclusive) {
+            affected.or(changed);
+        }
+        while (!queue.isEmpty()) {
+            var dependents = this.dependents[queue.poll()];
+            if (dependents == null) {
+                continue;
+            }
+            for (int d = dependents.nextSetBit(0); d >= 0; d = dependents.nextSetBit(d + 1)) {
+                if (!affected.get(d)) {
+                    affected.set(d);
+                    queue.add(d);
+                }
+            }
+        }
+
+        // The number of inputs of each affected formula that are still waiting to be recomputed
+        var pending = new int[this.formulas.length];
+        var wave = new ArrayList<Integer>();
+        for (int slot = affected.nextSetBit(0); slot >= 0; slot = affected.nextSetBit(slot + 1)) {
+            var in = (BitSet) this.inputs[slot].clone();
+            in.and(affected);
+            pending[slot] = in.cardinality();
+            if (pending[slot] == 0) {
+                wave.add(slot);
+            }
+        }
+
+        while (!wave.isEmpty()) {
+            var slots = wave.stream().mapToInt(Integer::intValue).toArray();
+            this.definitions.setGlobals(slots, this.evaluate(slots));
+
+            var next = new ArrayList<Integer>();
+            for (var slot : slots) {
+                var dependents = this.dependents[slot];
+                for (int d = dependents.nextSetBit(0); d >= 0; d = dependents.nextSetBit(d + 1)) {
+                    if (affected.get(d) && --pending[d] == 0) {
+                        next.add(d);
+                    }
+                }
+            }
+            wave = next;
+        }
+    }
+
+    private double[] evaluate(int[] slots) {
+        var values = new double[slots.length];
+        if (this.executor == null || slots.length < CHUNK_SIZE * 2) {
+            var ev = this.engine.getEvaluator();
+            for (int i = 0; i < slots.length; i++) {
+                values[i] = this.formulas[slots[i]].value(ev);
+            }
+            return values;
+        }
+
+        // Each task evaluates a contiguous chunk with the evaluator of whichever thread it runs on
+        var tasks = new ArrayList<CompletableFuture<Void>>();
+        for (int start = 0; start < slots.length; start += CHUNK_SIZE) {
+            var from = start;
+            var to = Math.min(start + CHUNK_SIZE, slots.length);
+            tasks.add(CompletableFuture.runAsync(() -> {
+                var ev = this.engine.getEvaluator();
+                for (int i = from; i < to; i++) {
+                    values[i] = this.formulas[slots[i]].value(ev);
+                }
+            }, this.executor));
+        }
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return values;
+    }
+
+    private void link(int slot, CompiledExpression formula, BitSet inputs, BitSet functions) {
+        if (this.inputs[slot] != null) {
+            var previous = this.inputs[slot];
+            for (int i = previous.nextSetBit(0); i >= 0; i = previous.nextSetBit(i + 1)) {
+                this.dependents[i].clear(slot);
+            }
+        }
+        this.formulas[slot] = formula;
+        this.inputs[slot] = inputs;
+        this.functions[slot] = functions;
+        for (int i = inputs.nextSetBit(0); i >= 0; i = inputs.nextSetBit(i + 1)) {
+            this.ensureCapacity(i);
+            this.dependents[i].set(slot);
+        }
+    }
+
+    /**
+     * @param graph The inputs of every formula, indexed by global slot
+     * @throws IllegalArgumentException If the variable can be reached from any of the inputs
+     */
+    private void checkCycle(int slot, BitSet inputs, BitSet[] graph) {
+        // Depth first search over the existing formulas, remembering how each variable was reached to report the path
+        var parents = new HashMap<Integer, Integer>();
+        var stack = new ArrayDeque<Integer>();
+        for (int i = inputs.nextSetBit(0); i >= 0; i = inputs.nextSetBit(i + 1)) {
+            parents.put(i, slot);
+            stack.push(i);
+        }
+        while (!stack.isEmpty()) {
+            var current = stack.pop();
+            if (current == slot) {
+                var path = new ArrayList<String>();
+                var node = parents.get(slot);
+                path.add(this.definitions.getGlobalSymbols().name(slot));
+                while (node != slot) {
+                    path.add(this.definitions.getGlobalSymbols().name(node));
+                    node = parents.get(node);
+                }
+                path.add(this.definitions.getGlobalSymbols().name(slot));
+                Collections.reverse(path);
+                throw new IllegalArgumentException("Circular reference: " + String.join(" -> ", path));
+            }
+            var next = current < graph.length ? graph[current] : null;
+            if (next == null) {
+                continue;
+            }
+            for (int i = next.nextSetBit(0); i >= 0; i = next.nextSetBit(i + 1)) {
+                if (parents.putIfAbsent(i, current) == null) {
+                    stack.push(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param formula   The formula
+     * @param functions Receives the slot of every function the formula depends on
+     * @return The global slots read by the formula, including through the bodies of the functions it calls
+     */
+    private BitSet findInputs(CompiledExpression formula, BitSet functions) {
+        var globals = new BitSet();
+        var visited = new BitSet();
+        // Functions that aren't defined yet are still recorded, so that defining them recomputes the formula
+        this.definitions.snapshot().findReads(formula.getExpression(), globals, visited);
+
+        // Inlined functions no longer appear as calls
+        functions.or(visited);
+        functions.or(formula.getDependencies());
+        return globals;
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot >= this.formulas.length) {
+            var length = Math.max(this.formulas.length * 2, slot + 1);
+            this.formulas = Arrays.copyOf(this.formulas, length);
+            this.inputs = Arrays.copyOf(this.inputs, length);
+            this.dependents = Arrays.copyOf(this.dependents, length);
+            this.functions = Arrays.copyOf(this.functions, length);
+        }
+        if (this.dependents[slot] == null) {
+            this.dependents[slot] = new BitSet();
+        }
+    }
+}
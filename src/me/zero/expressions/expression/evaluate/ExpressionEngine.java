@@ -1,61 +1,129 @@
 package me.zero.expressions.expression.evaluate;
 
 import me.zero.expressions.Utils;
+import me.zero.expressions.expression.CommonSubexpressions;
+import me.zero.expressions.expression.Definitions;
+import me.zero.expressions.expression.EvaluationBudget;
 import me.zero.expressions.expression.Evaluator;
 import me.zero.expressions.expression.Expression;
-import me.zero.expressions.expression.ast.Literal;
-import me.zero.expressions.expression.ast.RuntimeFunction;
-import me.zero.expressions.expression.ast.Variable;
-import me.zero.expressions.provider.ExpressionProvider;
+import me.zero.expressions.expression.Inliner;
+import me.zero.expressions.expression.SimplificationContext;
+import me.zero.expressions.expression.codec.ExpressionCodec;
+import me.zero.expressions.metrics.BuildEvent;
+import me.zero.expressions.metrics.Instrumentation;
 import me.zero.expressions.tokenizer.Token;
 import me.zero.expressions.tokenizer.Tokenizer;
 
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
+ * Compiles and evaluates statements against a shared set of {@link Definitions}. An engine may be used from multiple
+ * threads at once; each thread evaluates with its own {@link Evaluator}, and compiled statements are immutable.
+ *
  * @author Brady
  * @since 6/21/2022
  */
 public class ExpressionEngine {
 
-    private final Evaluator evaluator;
+    private final Definitions definitions;
+    private final ThreadLocal<Evaluator> evaluators;
+    private final SimplificationContext simplification;
+    private final CompileCache cache;
+    private final Set<CompiledExpression> linked;
+    private volatile EvaluationBudget budget;
 
     public ExpressionEngine() {
-        this.evaluator = new Evaluator();
+        this(new SimplificationContext.Builder().build());
+    }
+
+    /**
+     * @param simplification The options used to simplify every expression as it's compiled
+     */
+    public ExpressionEngine(SimplificationContext simplification) {
+        this(simplification, 0);
+    }
+
+    /**
+     * @param simplification The options used to simplify every expression as it's compiled
+     * @param cacheSize      The number of compiled statements retained by source text, or {@code 0} to disable caching
+     */
+    public ExpressionEngine(SimplificationContext simplification, int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.definitions = new Definitions();
+        this.evaluators = ThreadLocal.withInitial(() -> new Evaluator(this.definitions));
+        this.simplification = simplification;
+        this.cache = cacheSize > 0 ? new CompileCache(cacheSize) : null;
+        if (this.cache != null) {
+            this.definitions.addFunctionListener(this.cache::invalidate);
+        }
+        this.linked = Collections.newSetFromMap(new WeakHashMap<>());
+        this.definitions.addFunctionListener(this::relink);
     }
 
     public OptionalDouble eval(String expression) {
+        return this.eval(this.compile(expression));
+    }
+
+    public OptionalDouble eval(CompiledExpression expression) {
+        return expression.eval(this.getEvaluator());
+    }
+
+    /**
+     * Parses the specified statement once, producing a {@link CompiledExpression} that can be evaluated repeatedly
+     * without tokenizing or building the AST again. If caching is enabled, a previously compiled statement with the
+     * same source is returned instead.
+     *
+     * @param expression The statement source
+     * @return The compiled statement
+     */
+    public CompiledExpression compile(String expression) {
+        if (this.cache == null) {
+            return this.parse(expression);
+        }
+        var compiled = this.cache.get(expression);
+        if (compiled == null) {
+            compiled = this.parse(expression);
+            this.cache.put(expression, compiled);
+        }
+        return compiled;
+    }
+
+    private CompiledExpression parse(String expression) {
         // Tokenize the entire infix expression
-        var tokenized = Tokenizer.tokenize(expression);
+        return this.parse(expression, Tokenizer.tokenize(expression));
+    }
 
-        // Split the tokens by EQUALS and convert each subsection to postfix
-        var split = Utils.splitList(tokenized, t -> t.type() == Token.Type.EQUALS).stream()
-            .map(Tokenizer::convertToPostfix).toList();
+    /**
+     * @param expression The statement source
+     * @param tokenized  The tokens of the statement
+     * @return The compiled statement
+     */
+    CompiledExpression parse(String expression, List<Token> tokenized) {
+        // Split the tokens by EQUALS
+        var split = Utils.splitList(tokenized, t -> t.type() == Token.Type.EQUALS);
 
         // Handle each split length case
         return switch (split.size()) {
-            case 1 -> OptionalDouble.of(build(split.get(0)).eval(this.evaluator));
+            case 1 -> new CompiledExpression(expression, CompiledExpression.Kind.EXPRESSION, null, -1, List.of(),
+                this.build(expression, split.get(0), List.of()), this);
             case 2 -> {
                 var symbol = split.get(0);
-                var value = build(split.get(1));
 
-                var signature = symbol.stream().map(Token::type)
-                    .map(Token.Type::name).collect(Collectors.joining());
-
-                if (signature.equals("VARIABLE")) {
-                    // TODO: Address recursive reference for redefinition
-                    var val = value.eval(this.evaluator);
-                    this.evaluator.getGlobals().put(symbol.get(0).value(), val);
-                    yield OptionalDouble.of(val);
+                if (symbol.size() == 1 && symbol.get(0).type() == Token.Type.VARIABLE) {
+                    var name = symbol.get(0).value();
+                    var value = this.build(expression, split.get(1), List.of());
+                    yield new CompiledExpression(expression, CompiledExpression.Kind.ASSIGNMENT, name,
+                        this.definitions.globalSlot(name), List.of(), value, this);
                 }
-                if (signature.matches("(VARIABLE)*FUNCTION")) {
-                    var name = symbol.get(symbol.size() - 1).functionName();
-                    var args = symbol.stream()
-                        .filter(t -> t.type() == Token.Type.VARIABLE)
-                        .map(Token::value).toList();
-                    this.evaluator.addFunction(name, args, value);
-                    yield OptionalDouble.empty();
+                var args = getSignature(symbol);
+                if (args != null) {
+                    var name = symbol.get(0).value();
+                    var value = CommonSubexpressions.eliminate(this.build(expression, split.get(1), args), args.size());
+                    yield new CompiledExpression(expression, CompiledExpression.Kind.DEFINITION, name, -1, args, value,
+                        this);
                 }
                 throw new IllegalArgumentException("Invalid definition symbol");
             }
@@ -63,39 +131,183 @@ public class ExpressionEngine {
         };
     }
 
-    private static Expression build(List<Token> postfix) {
-        var stack = new ArrayDeque<Expression>();
+    /**
+     * Loads a statement encoded by {@link CompiledExpression#encode()}, without tokenizing or parsing its source.
+     * Names are resolved against this engine's definitions, and functions are inlined as if the statement had been
+     * compiled here. If caching is enabled, a previously compiled statement with the same source is returned instead.
+     *
+     * @param data The encoded statement, read from its position onwards and left positioned after it
+     * @return The compiled statement
+     */
+    public CompiledExpression decode(ByteBuffer data) {
+        var in = new ExpressionCodec.Reader(data, this.definitions);
+        ExpressionCodec.checkVersion(in.readByte());
+        var kinds = CompiledExpression.Kind.values();
+        var kind = in.readByte();
+        if (kind >= kinds.length) {
+            throw new IllegalArgumentException("Invalid statement kind " + kind);
+        }
+        var source = in.readString();
+        var symbol = in.readString();
+        var args = new String[in.readVarInt()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = in.readString();
+        }
+        var expression = in.readExpression();
+        // The whole statement is read even if it's cached, so that the buffer is left at the start of the next one
+        if (this.cache != null) {
+            var cached = this.cache.get(source);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-        for (var token : postfix) {
-            var args = Collections.asLifoQueue(new ArrayDeque<Expression>());
-            for (int i = 0; i < getArgumentCount(token); i++) {
-                args.add(stack.pop());
+        var compiled = switch (kinds[kind]) {
+            case EXPRESSION -> new CompiledExpression(source, kinds[kind], null, -1, List.of(), expression, this);
+            case ASSIGNMENT -> new CompiledExpression(source, kinds[kind], symbol,
+                this.definitions.globalSlot(symbol), List.of(), expression, this);
+            case DEFINITION -> new CompiledExpression(source, kinds[kind], symbol, -1, List.of(args), expression,
+                this);
+        };
+        if (this.cache != null) {
+            this.cache.put(source, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * @return The evaluator of the calling thread, which shares this engine's definitions
+     */
+    public Evaluator getEvaluator() {
+        var evaluator = this.evaluators.get();
+        var budget = this.budget;
+        if (budget != null && evaluator.getBudget() != budget) {
+            evaluator.setBudget(budget);
+        }
+        return evaluator;
+    }
+
+    /**
+     * @param budget The budget applied to the evaluator of every thread as it's retrieved through
+     *               {@link #getEvaluator()}, or {@code null} to leave each evaluator's own budget in place
+     */
+    public void setBudget(EvaluationBudget budget) {
+        this.budget = budget;
+    }
+
+    public EvaluationBudget getBudget() {
+        return this.budget;
+    }
+
+    public Definitions getDefinitions() {
+        return this.definitions;
+    }
+
+    /**
+     * @return The compile cache, if caching is enabled
+     */
+    public Optional<CompileCache> getCache() {
+        return Optional.ofNullable(this.cache);
+    }
+
+    /**
+     * Parses and simplifies an expression.
+     *
+     * @param source     The source of the statement being built, for instrumentation
+     * @param infix      The infix tokens
+     * @param parameters The argument names of the function whose body is being built, resolved to frame slots.
+     *                   Every other variable is resolved to a global slot.
+     * @return The built expression
+     */
+    private Expression build(String source, List<Token> infix, List<String> parameters) {
+        var event = new BuildEvent();
+        event.begin();
+        var start = Instrumentation.start();
+        var parsed = new Parser(infix, parameters, this.definitions).parse();
+        var simplified = parsed.simplify(this.simplification);
+        Instrumentation.built(event, source, start);
+        return simplified;
+    }
+
+    /**
+     * Inlines the functions called by a top-level expression against the latest definitions and simplifies the
+     * result, then hoists any repeated subexpressions so they're evaluated once.
+     *
+     * @param expression The built expression
+     * @param inlined    Receives the slot of every function that was inlined
+     * @return The linked expression
+     */
+    Expression link(Expression expression, BitSet inlined) {
+        if (this.simplification.isInlining()) {
+            var inlinedExpression = Inliner.inline(expression, this.definitions.snapshot(), inlined);
+            if (!inlined.isEmpty()) {
+                expression = inlinedExpression.simplify(this.simplification);
             }
-            stack.push(getProvider(token).apply(args));
         }
+        return CommonSubexpressions.eliminate(expression, 0);
+    }
 
-        return stack.pop();
+    /**
+     * Registers a statement to be linked again whenever one of the functions it depends on is redefined. Statements
+     * are only weakly referenced, so they don't need to be unregistered.
+     *
+     * @param compiled The compiled statement
+     */
+    void track(CompiledExpression compiled) {
+        synchronized (this.linked) {
+            this.linked.add(compiled);
+        }
     }
 
-    private static ExpressionProvider getProvider(Token token) {
-        return switch (token.type()) {
-            case LITERAL -> args -> new Literal(token.doubleValue());
-            case VARIABLE -> args -> new Variable(token.value());
-            case OPERATOR -> token.operator();
-            // TODO: Differentiate between evaluation runtime and built-in functions
-            // runtime -> by name lookup
-            // builtin -> construct object for it
-            case FUNCTION -> args -> new RuntimeFunction(token.functionName(), Arrays.asList(args));
-            default -> throw new IllegalArgumentException("Invalid token type");
-        };
+    private void relink(int functionSlot) {
+        List<CompiledExpression> linked;
+        synchronized (this.linked) {
+            linked = new ArrayList<>(this.linked);
+        }
+        for (var compiled : linked) {
+            compiled.relink(functionSlot);
+        }
     }
 
-    private static int getArgumentCount(Token token) {
-        return switch (token.type()) {
-            case LITERAL, VARIABLE -> 0;
-            case OPERATOR -> token.operator().isUnary() ? 1 : 2;
-            case FUNCTION -> token.functionArgs();
-            default -> throw new UnsupportedOperationException("Invalid token type");
-        };
+    /**
+     * @param tokenized The tokens of a statement
+     * @return Whether the statement defines a function
+     */
+    static boolean isDefinition(List<Token> tokenized) {
+        var split = Utils.splitList(tokenized, t -> t.type() == Token.Type.EQUALS);
+        return split.size() == 2 && getSignature(split.get(0)) != null;
+    }
+
+    /**
+     * Matches the left hand side of a function definition, {@code f(x, y)}, where every argument is a single variable.
+     *
+     * @param symbol The tokens preceding EQUALS
+     * @return The argument names, or {@code null} if the tokens aren't a function signature
+     */
+    private static List<String> getSignature(List<Token> symbol) {
+        if (symbol.size() < 3
+            || symbol.get(0).type() != Token.Type.FUNCTION
+            || symbol.get(1).type() != Token.Type.LEFT_PARENTHESIS
+            || symbol.get(symbol.size() - 1).type() != Token.Type.RIGHT_PARENTHESIS) {
+            return null;
+        }
+
+        var args = new ArrayList<String>();
+        for (int i = 2; i < symbol.size() - 1; i++) {
+            // Arguments alternate with separators: x , y , z
+            var expected = (i % 2 == 0) ? Token.Type.VARIABLE : Token.Type.ARGUMENT_SEPARATOR;
+            var token = symbol.get(i);
+            if (token.type() != expected) {
+                return null;
+            }
+            if (expected == Token.Type.VARIABLE) {
+                args.add(token.value());
+            }
+        }
+        // A trailing separator, f(x,)
+        if (symbol.size() > 3 && symbol.get(symbol.size() - 2).type() != Token.Type.VARIABLE) {
+            return null;
+        }
+        return List.copyOf(args);
     }
 }
@@ -0,0 +1,64 @@
+package me.zero.expressions.expression.evaluate;
+
+import me.zero.expressions.expression.SymbolTable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The value of an expression and its partial derivatives with respect to every global variable, as produced by
+ * {@link GradientEvaluator}. Variables that aren't referenced by the expression have a partial derivative of zero.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class Gradient {
+
+    private final double value;
+    private final double[] partials;
+    private final SymbolTable symbols;
+
+    Gradient(double value, double[] partials, SymbolTable symbols) {
+        this.value = value;
+        this.partials = partials;
+        this.symbols = symbols;
+    }
+
+    public double getValue() {
+        return this.value;
+    }
+
+    /**
+     * @param slot The global slot
+     * @return The partial derivative with respect to the variable
+     */
+    public double getPartial(int slot) {
+        return slot < this.partials.length ? this.partials[slot] : 0.0d;
+    }
+
+    /**
+     * @param identifier The variable name
+     * @return The partial derivative with respect to the variable
+     */
+    public double getPartial(String identifier) {
+        var slot = this.symbols.indexOf(identifier);
+        return slot >= 0 ? this.getPartial(slot) : 0.0d;
+    }
+
+    /**
+     * @return The partial derivatives with respect to every global variable, keyed by name
+     */
+    public Map<String, Double> getPartials() {
+        var partials = new LinkedHashMap<String, Double>();
+        for (int i = 0; i < this.symbols.size(); i++) {
+            partials.put(this.symbols.name(i), this.getPartial(i));
+        }
+        return Collections.unmodifiableMap(partials);
+    }
+
+    @Override
+    public String toString() {
+        return "Gradient[value=" + this.value + ", partials=" + this.getPartials() + "]";
+    }
+}
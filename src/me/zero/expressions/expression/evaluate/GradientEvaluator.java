@@ -0,0 +1,296 @@
+package me.zero.expressions.expression.evaluate;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
+import me.zero.expressions.expression.ast.*;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates an expression together with its partial derivative with respect to every global variable, by reverse
+ * mode automatic differentiation. The forward pass records each operation onto a tape along with the local
+ * derivatives of its result, then a single backward pass accumulates the gradient. The cost is a small constant
+ * multiple of a normal evaluation, regardless of how many variables are referenced.
+ * <p>
+ * Function calls are differentiated through their bodies. The value is computed in exactly the same order as
+ * {@link Expression#eval(Evaluator)}, so it matches a normal evaluation bit-for-bit. The tape is reused between
+ * evaluations, so an instance should be kept around and isn't safe for concurrent use.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class GradientEvaluator implements ExpressionVisitor<Void> {
+
+    private static final int NONE = -1;
+
+    private final Evaluator evaluator;
+
+    // The tape, each entry has up to two parents and the partial derivative of the entry with respect to each
+    private double[] values;
+    private int[] left;
+    private int[] right;
+    private double[] dLeft;
+    private double[] dRight;
+    private boolean[] variable;
+    private double[] adjoints;
+    private int size;
+
+    // Tape entry of each global variable referenced by the current evaluation
+    private int[] globals;
+
+    // Tape entries of the arguments of every active call, the current frame begins at fp
+    private int[] frames;
+    private int sp;
+    private int fp;
+
+    // Tape entry of the most recently visited node
+    private int result;
+
+    public GradientEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator;
+        this.values = new double[64];
+        this.left = new int[64];
+        this.right = new int[64];
+        this.dLeft = new double[64];
+        this.dRight = new double[64];
+        this.variable = new boolean[64];
+        this.adjoints = new double[64];
+        this.globals = new int[16];
+        this.frames = new int[16];
+    }
+
+    /**
+     * @param expression The expression
+     * @return The value of the expression and its gradient
+     */
+    public Gradient evaluate(Expression expression) {
+        this.evaluator.begin();
+        this.size = 0;
+        this.sp = 0;
+        this.fp = 0;
+        Arrays.fill(this.globals, NONE);
+
+        var root = this.trace(expression);
+
+        // Backward pass, each entry only depends on earlier ones so a single sweep in reverse order is sufficient
+        if (this.adjoints.length < this.size) {
+            this.adjoints = new double[this.values.length];
+        }
+        var adjoints = this.adjoints;
+        Arrays.fill(adjoints, 0, this.size, 0.0d);
+        adjoints[root] = 1.0d;
+        for (int i = root; i >= 0; i--) {
+            var adjoint = adjoints[i];
+            if (this.left[i] != NONE) {
+                adjoints[this.left[i]] += adjoint * this.dLeft[i];
+            }
+            if (this.right[i] != NONE) {
+                adjoints[this.right[i]] += adjoint * this.dRight[i];
+            }
+        }
+
+        var partials = new double[this.globals.length];
+        for (int slot = 0; slot < partials.length; slot++) {
+            if (this.globals[slot] != NONE) {
+                partials[slot] = adjoints[this.globals[slot]];
+            }
+        }
+        return new Gradient(this.values[root], partials, this.evaluator.getDefinitions().getGlobalSymbols());
+    }
+
+    @Override
+    public Void visit(Literal literal) {
+        this.result = this.record(literal.value(), NONE, 0.0d, NONE, 0.0d);
+        return null;
+    }
+
+    @Override
+    public Void visit(Variable variable) {
+        var slot = variable.slot();
+        if (slot >= this.globals.length) {
+            var length = this.globals.length;
+            this.globals = Arrays.copyOf(this.globals, Math.max(length * 2, slot + 1));
+            Arrays.fill(this.globals, length, this.globals.length, NONE);
+        }
+        if (this.globals[slot] == NONE) {
+            var entry = this.record(this.evaluator.global(slot), NONE, 0.0d, NONE, 0.0d);
+            this.variable[entry] = true;
+            this.globals[slot] = entry;
+        }
+        this.result = this.globals[slot];
+        return null;
+    }
+
+    @Override
+    public Void visit(LocalVariable variable) {
+        this.result = this.frames[this.fp + variable.slot()];
+        return null;
+    }
+
+    @Override
+    public Void visit(AddSubtract addSubtract) {
+        var sum = this.sum(addSubtract.add());
+        if (addSubtract.subtract().isEmpty()) {
+            this.result = sum;
+            return null;
+        }
+        var difference = this.sum(addSubtract.subtract());
+        this.result = this.record(this.values[sum] - this.values[difference], sum, 1.0d, difference, -1.0d);
+        return null;
+    }
+
+    @Override
+    public Void visit(MultiplyDivide multiplyDivide) {
+        var product = this.product(multiplyDivide.multiply());
+        if (multiplyDivide.divide().isEmpty()) {
+            this.result = product;
+            return null;
+        }
+        var divisor = this.product(multiplyDivide.divide());
+        var a = this.values[product];
+        var b = this.values[divisor];
+        var quotient = a / b;
+        this.result = this.record(quotient, product, 1.0d / b, divisor, -quotient / b);
+        return null;
+    }
+
+    @Override
+    public Void visit(Exponent exponent) {
+        var base = this.trace(exponent.base());
+        var power = this.trace(exponent.power());
+        var a = this.values[base];
+        var b = this.values[power];
+        var value = Math.pow(a, b);
+
+        // Only derive with respect to operands that depend on a variable, so that the log of a constant
+        // non-positive base doesn't turn an otherwise valid gradient into NaN
+        var dBase = this.depends(base) ? b * Math.pow(a, b - 1.0d) : 0.0d;
+        var dPower = this.depends(power) ? value * Math.log(a) : 0.0d;
+        this.result = this.record(value, base, dBase, power, dPower);
+        return null;
+    }
+
+    @Override
+    public Void visit(RuntimeFunction function) {
+        var args = function.args();
+        var base = this.sp;
+        for (var arg : args) {
+            this.push(this.trace(arg));
+        }
+
+        var func = this.evaluator.function(function.slot());
+        if (func.getArity() != args.size()) {
+            throw new IllegalArgumentException("Specified arguments do not match expected count!");
+        }
+
+        this.evaluator.enter(function.slot());
+        var caller = this.fp;
+        this.fp = base;
+        func.getBody().accept(this);
+        this.fp = caller;
+        this.evaluator.exit();
+        this.sp = base;
+        return null;
+    }
+
+    @Override
+    public Void visit(BuiltinFunction function) {
+        var func = function.function();
+        var args = function.args();
+        var first = this.trace(args.get(0));
+        var second = args.size() > 1 ? this.trace(args.get(1)) : NONE;
+        var a = this.values[first];
+        var b = second != NONE ? this.values[second] : 0.0d;
+        var value = func.compute(a, b);
+
+        // As with exponents, only derive with respect to operands that depend on a variable
+        var dFirst = this.depends(first) ? func.derivative(0, a, b, value) : 0.0d;
+        var dSecond = second != NONE && this.depends(second) ? func.derivative(1, a, b, value) : 0.0d;
+        this.result = this.record(value, first, dFirst, second, dSecond);
+        return null;
+    }
+
+    @Override
+    public Void visit(Let let) {
+        var base = this.sp;
+        for (var binding : let.bindings()) {
+            this.push(this.trace(binding));
+        }
+        let.body().accept(this);
+        this.sp = base;
+        return null;
+    }
+
+    private int sum(Iterable<Expression> terms) {
+        // Accumulated from 0.0 like AddSubtract#eval, adding the constant is exact so it doesn't need an entry
+        var sum = NONE;
+        var value = 0.0d;
+        for (var exp : terms) {
+            var term = this.trace(exp);
+            value += this.values[term];
+            sum = this.record(value, sum, 1.0d, term, 1.0d);
+        }
+        return sum != NONE ? sum : this.record(0.0d, NONE, 0.0d, NONE, 0.0d);
+    }
+
+    private int product(Iterable<Expression> factors) {
+        // Multiplying by the initial 1.0 is exact, so the first factor can be used as-is
+        var product = NONE;
+        for (var exp : factors) {
+            var factor = this.trace(exp);
+            if (product == NONE) {
+                product = factor;
+                continue;
+            }
+            var a = this.values[product];
+            var b = this.values[factor];
+            product = this.record(a * b, product, b, factor, a);
+        }
+        return product != NONE ? product : this.record(1.0d, NONE, 0.0d, NONE, 0.0d);
+    }
+
+    private int trace(Expression expression) {
+        expression.accept(this);
+        return this.result;
+    }
+
+    private boolean depends(int entry) {
+        return this.variable[entry] || this.left[entry] != NONE || this.right[entry] != NONE;
+    }
+
+    private int record(double value, int left, double dLeft, int right, double dRight) {
+        // Operands that don't depend on any variable are dropped, which keeps constant subtrees off the backward pass
+        if (left != NONE && !this.depends(left)) {
+            left = NONE;
+        }
+        if (right != NONE && !this.depends(right)) {
+            right = NONE;
+        }
+
+        if (this.size == this.values.length) {
+            var length = this.size * 2;
+            this.values = Arrays.copyOf(this.values, length);
+            this.left = Arrays.copyOf(this.left, length);
+            this.right = Arrays.copyOf(this.right, length);
+            this.dLeft = Arrays.copyOf(this.dLeft, length);
+            this.dRight = Arrays.copyOf(this.dRight, length);
+            this.variable = Arrays.copyOf(this.variable, length);
+        }
+        var entry = this.size++;
+        this.values[entry] = value;
+        this.left[entry] = left;
+        this.dLeft[entry] = dLeft;
+        this.right[entry] = right;
+        this.dRight[entry] = dRight;
+        this.variable[entry] = false;
+        return entry;
+    }
+
+    private void push(int entry) {
+        if (this.sp == this.frames.length) {
+            this.frames = Arrays.copyOf(this.frames, this.sp * 2);
+        }
+        this.frames[this.sp++] = entry;
+    }
+}
@@ -0,0 +1,429 @@
+package me.zero.expressions.expression.evaluate;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A closed range of values {@code [lo, hi]}, as computed by {@link IntervalEvaluator}. The arithmetic rounds outwards,
+ * so the result of an operation contains the exact result for every combination of operand values, as well as the
+ * value computed in floating point. Operands that make an operation undefined, such as the square root of a negative
+ * number, are excluded; if no operand values produce a defined result, the result is {@link #EMPTY}.
+ * <p>
+ * Additions, multiplications, divisions and square roots determine the direction of their rounding error exactly, so
+ * their bounds only move outwards by an ulp when the result was actually rounded inwards. Every other function is
+ * widened by its documented error bound in {@link Math}.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public record Interval(double lo, double hi) {
+
+    /**
+     * The interval containing no values, whose bounds are both {@link Double#NaN}.
+     */
+    public static final Interval EMPTY = new Interval(Double.NaN, Double.NaN);
+
+    /**
+     * The interval containing every value.
+     */
+    public static final Interval ENTIRE = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    public Interval {
+        if (!(lo <= hi) && !(Double.isNaN(lo) && Double.isNaN(hi))) {
+            throw new IllegalArgumentException("Lower bound is greater than upper bound");
+        }
+    }
+
+    /**
+     * @param value The value
+     * @return The interval only containing the value, or {@link #EMPTY} if the value is {@link Double#NaN}
+     */
+    public static Interval of(double value) {
+        return Double.isNaN(value) ? EMPTY : new Interval(value, value);
+    }
+
+    public static Interval of(double lo, double hi) {
+        return new Interval(lo, hi);
+    }
+
+    public boolean isEmpty() {
+        return Double.isNaN(this.lo);
+    }
+
+    public boolean contains(double value) {
+        return this.lo <= value && value <= this.hi;
+    }
+
+    /**
+     * @return Whether the interval contains zero, for instance to find the regions in which a root may lie
+     */
+    public boolean containsZero() {
+        return this.contains(0.0d);
+    }
+
+    public double width() {
+        return this.isEmpty() ? 0.0d : this.hi - this.lo;
+    }
+
+    /**
+     * @param value A value computed by a function with a bounded error, such as those of {@link Math}
+     * @param ulps  The maximum error of the function, in ulps
+     * @return The interval containing the exact result of the function
+     */
+    public static Interval around(double value, int ulps) {
+        return Double.isNaN(value) ? EMPTY : new Interval(down(value, ulps), up(value, ulps));
+    }
+
+    public Interval add(Interval other) {
+        if (this.isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        return bounded(addDown(this.lo, other.lo), addUp(this.hi, other.hi));
+    }
+
+    public Interval subtract(Interval other) {
+        if (this.isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        return bounded(addDown(this.lo, -other.hi), addUp(this.hi, -other.lo));
+    }
+
+    public Interval multiply(Interval other) {
+        if (this.isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        var a = this.lo;
+        var b = this.hi;
+        var c = other.lo;
+        var d = other.hi;
+        return bounded(
+            min(min(mulDown(a, c), mulDown(a, d)), min(mulDown(b, c), mulDown(b, d))),
+            max(max(mulUp(a, c), mulUp(a, d)), max(mulUp(b, c), mulUp(b, d)))
+        );
+    }
+
+    /**
+     * Divides by another interval. If the divisor contains zero, the quotient is unbounded on both sides.
+     */
+    public Interval divide(Interval other) {
+        if (this.isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        if (other.containsZero()) {
+            // Even a divisor that only ends at zero is unbounded on both sides. Dividing by zero gives an infinity with
+            // the sign of the zero, which bounds don't track: x*0 for x in [-1,1] is [+0,+0], but 1/(x*0) at x=-1
+            // is -Infinity.
+            return ENTIRE;
+        }
+        var a = this.lo;
+        var b = this.hi;
+        var c = other.lo;
+        var d = other.hi;
+        return bounded(
+            min(min(divDown(a, c), divDown(a, d)), min(divDown(b, c), divDown(b, d))),
+            max(max(divUp(a, c), divUp(a, d)), max(divUp(b, c), divUp(b, d)))
+        );
+    }
+
+    /**
+     * Raises this interval to the power of another, following {@link Math#pow(double, double)}.
+     */
+    public Interval pow(Interval power) {
+        if (this.isEmpty() || power.isEmpty()) {
+            return EMPTY;
+        }
+        var n = power.lo;
+        if (n == power.hi && n == Math.rint(n) && !Double.isInfinite(n)) {
+            return this.pow(n);
+        }
+
+        var lo = Double.POSITIVE_INFINITY;
+        var hi = Double.NEGATIVE_INFINITY;
+        if (this.hi >= 0.0d) {
+            // Over non-negative bases, x^y = e^(y ln x) is monotonic in each operand, so its extremes are at corners
+            var base = Math.max(this.lo, 0.0d);
+            for (var x : new double[] { base, this.hi }) {
+                for (var y : new double[] { power.lo, power.hi }) {
+                    var value = Math.pow(x, y);
+                    lo = min(lo, down(value, 1));
+                    hi = max(hi, up(value, 1));
+                }
+            }
+            lo = Math.max(lo, 0.0d);
+        }
+        if (this.lo <= 0.0d && Math.floor(power.hi) >= power.lo) {
+            // A negative base only has a power for integer exponents, whose magnitude is that of |x|^y
+            var magnitude = Double.NEGATIVE_INFINITY;
+            for (var x : new double[] { Math.max(-this.hi, 0.0d), -this.lo }) {
+                for (var y : new double[] { power.lo, power.hi }) {
+                    magnitude = max(magnitude, up(Math.pow(x, y), 1));
+                }
+            }
+            lo = min(lo, -magnitude);
+            hi = max(hi, magnitude);
+        }
+        return lo <= hi ? bounded(lo, hi) : EMPTY;
+    }
+
+    private Interval pow(double n) {
+        if (n == 0.0d) {
+            return of(1.0d);
+        }
+        if (n == 1.0d) {
+            return this;
+        }
+        var even = n % 2.0d == 0.0d;
+        var zero = this.containsZero();
+        var mig = zero ? 0.0d : Math.min(Math.abs(this.lo), Math.abs(this.hi));
+        var mag = Math.max(Math.abs(this.lo), Math.abs(this.hi));
+        if (n > 0.0d) {
+            if (even) {
+                return bounded(Math.max(down(Math.pow(mig, n), 1), 0.0d), up(Math.pow(mag, n), 1));
+            }
+            return this.increasing(x -> Math.pow(x, n), 1);
+        }
+        if (zero) {
+            // A pole at zero, which is reached from both sides by odd powers
+            return even ? bounded(Math.max(down(Math.pow(mag, n), 1), 0.0d), Double.POSITIVE_INFINITY) : ENTIRE;
+        }
+        if (even) {
+            return bounded(Math.max(down(Math.pow(mag, n), 1), 0.0d), up(Math.pow(mig, n), 1));
+        }
+        return this.decreasing(x -> Math.pow(x, n), 1);
+    }
+
+    /**
+     * @return The square root of the interval, excluding any negative values
+     */
+    public Interval sqrt() {
+        var domain = this.clamp(0.0d, Double.POSITIVE_INFINITY);
+        if (domain.isEmpty()) {
+            return EMPTY;
+        }
+        return new Interval(sqrtDown(domain.lo), sqrtUp(domain.hi));
+    }
+
+    public Interval abs() {
+        if (this.isEmpty() || this.lo >= 0.0d) {
+            return this;
+        }
+        if (this.hi <= 0.0d) {
+            return new Interval(-this.hi, -this.lo);
+        }
+        return new Interval(0.0d, Math.max(-this.lo, this.hi));
+    }
+
+    /**
+     * Applies a function that is non-decreasing over this interval.
+     *
+     * @param function The function
+     * @param ulps     The maximum error of the function, in ulps
+     * @return The image of this interval
+     */
+    public Interval increasing(DoubleUnaryOperator function, int ulps) {
+        if (this.isEmpty()) {
+            return EMPTY;
+        }
+        return bounded(down(function.applyAsDouble(this.lo), ulps), up(function.applyAsDouble(this.hi), ulps));
+    }
+
+    /**
+     * Applies a function that is non-increasing over this interval.
+     *
+     * @param function The function
+     * @param ulps     The maximum error of the function, in ulps
+     * @return The image of this interval
+     */
+    public Interval decreasing(DoubleUnaryOperator function, int ulps) {
+        if (this.isEmpty()) {
+            return EMPTY;
+        }
+        return bounded(down(function.applyAsDouble(this.hi), ulps), up(function.applyAsDouble(this.lo), ulps));
+    }
+
+    /**
+     * @return The intersection of this interval and {@code [lo, hi]}
+     */
+    public Interval clamp(double lo, double hi) {
+        if (this.isEmpty() || this.hi < lo || this.lo > hi) {
+            return EMPTY;
+        }
+        return new Interval(Math.max(this.lo, lo), Math.min(this.hi, hi));
+    }
+
+    /**
+     * @return The smallest interval containing both this interval and the other
+     */
+    public Interval hull(Interval other) {
+        if (this.isEmpty()) {
+            return other;
+        }
+        if (other.isEmpty()) {
+            return this;
+        }
+        return new Interval(Math.min(this.lo, other.lo), Math.max(this.hi, other.hi));
+    }
+
+    /**
+     * @param period The period
+     * @param offset The first point
+     * @return Whether this interval may contain {@code offset + k * period} for any integer {@code k}. Points within
+     *         a small relative tolerance of a bound are assumed to be contained, since they can't be computed exactly.
+     */
+    public boolean containsPeriodic(double offset, double period) {
+        if (this.isEmpty()) {
+            return false;
+        }
+        var tolerance = 1e-12 * Math.max(1.0d, Math.max(Math.abs(this.lo), Math.abs(this.hi)));
+        var k = Math.ceil((this.lo - tolerance - offset) / period);
+        return offset + k * period <= this.hi + tolerance;
+    }
+
+    @Override
+    public String toString() {
+        return this.isEmpty() ? "[]" : "[" + this.lo + ", " + this.hi + "]";
+    }
+
+    /**
+     * Creates an interval from bounds that may be {@link Double#NaN} where an operation had no defined limit, which
+     * leaves that side unbounded.
+     */
+    private static Interval bounded(double lo, double hi) {
+        return new Interval(Double.isNaN(lo) ? Double.NEGATIVE_INFINITY : lo,
+            Double.isNaN(hi) ? Double.POSITIVE_INFINITY : hi);
+    }
+
+    /**
+     * @return The value, moved towards negative infinity by the specified number of ulps
+     */
+    private static double down(double value, int ulps) {
+        for (int i = 0; i < ulps; i++) {
+            value = Math.nextDown(value);
+        }
+        return value;
+    }
+
+    /**
+     * @return The value, moved towards positive infinity by the specified number of ulps
+     */
+    private static double up(double value, int ulps) {
+        for (int i = 0; i < ulps; i++) {
+            value = Math.nextUp(value);
+        }
+        return value;
+    }
+
+    // NaN, produced by limits like inf - inf or 0 * inf, is ignored in favor of the other operand
+    private static double min(double a, double b) {
+        return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.min(a, b);
+    }
+
+    private static double max(double a, double b) {
+        return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.max(a, b);
+    }
+
+    private static double addDown(double a, double b) {
+        var sum = a + b;
+        if (Double.isInfinite(sum)) {
+            return Double.isFinite(a) && Double.isFinite(b) && sum > 0.0d ? Double.MAX_VALUE : sum;
+        }
+        return addError(a, b, sum) < 0.0d ? Math.nextDown(sum) : sum;
+    }
+
+    private static double addUp(double a, double b) {
+        var sum = a + b;
+        if (Double.isInfinite(sum)) {
+            return Double.isFinite(a) && Double.isFinite(b) && sum < 0.0d ? -Double.MAX_VALUE : sum;
+        }
+        return addError(a, b, sum) > 0.0d ? Math.nextUp(sum) : sum;
+    }
+
+    /**
+     * @return The exact error of a floating point sum, by Knuth's TwoSum
+     */
+    private static double addError(double a, double b, double sum) {
+        var b1 = sum - a;
+        var a1 = sum - b1;
+        return (a - a1) + (b - b1);
+    }
+
+    private static double mulDown(double a, double b) {
+        if (a == 0.0d || b == 0.0d) {
+            return 0.0d;
+        }
+        var product = a * b;
+        if (Double.isInfinite(product)) {
+            return Double.isFinite(a) && Double.isFinite(b) && product > 0.0d ? Double.MAX_VALUE : product;
+        }
+        // Below the normal range the error of the product may not be representable
+        if (Math.abs(product) < Double.MIN_NORMAL || Math.fma(a, b, -product) < 0.0d) {
+            return Math.nextDown(product);
+        }
+        return product;
+    }
+
+    private static double mulUp(double a, double b) {
+        if (a == 0.0d || b == 0.0d) {
+            return 0.0d;
+        }
+        var product = a * b;
+        if (Double.isInfinite(product)) {
+            return Double.isFinite(a) && Double.isFinite(b) && product < 0.0d ? -Double.MAX_VALUE : product;
+        }
+        if (Math.abs(product) < Double.MIN_NORMAL || Math.fma(a, b, -product) > 0.0d) {
+            return Math.nextUp(product);
+        }
+        return product;
+    }
+
+    private static double divDown(double a, double b) {
+        if (a == 0.0d || Double.isInfinite(b) && Double.isFinite(a)) {
+            return 0.0d;
+        }
+        var quotient = a / b;
+        if (Double.isInfinite(quotient)) {
+            return Double.isFinite(a) && quotient > 0.0d ? Double.MAX_VALUE : quotient;
+        }
+        if (Math.abs(quotient) < Double.MIN_NORMAL || divError(a, b, quotient) < 0.0d) {
+            return Math.nextDown(quotient);
+        }
+        return quotient;
+    }
+
+    private static double divUp(double a, double b) {
+        if (a == 0.0d || Double.isInfinite(b) && Double.isFinite(a)) {
+            return 0.0d;
+        }
+        var quotient = a / b;
+        if (Double.isInfinite(quotient)) {
+            return Double.isFinite(a) && quotient < 0.0d ? -Double.MAX_VALUE : quotient;
+        }
+        if (Math.abs(quotient) < Double.MIN_NORMAL || divError(a, b, quotient) > 0.0d) {
+            return Math.nextUp(quotient);
+        }
+        return quotient;
+    }
+
+    /**
+     * @return A value with the sign of the error of a floating point quotient, from its exact remainder
+     */
+    private static double divError(double a, double b, double quotient) {
+        var remainder = Math.fma(-quotient, b, a);
+        return b > 0.0d ? remainder : -remainder;
+    }
+
+    private static double sqrtDown(double a) {
+        var root = Math.sqrt(a);
+        if (a == 0.0d || Double.isInfinite(a)) {
+            return root;
+        }
+        return a < Double.MIN_NORMAL || Math.fma(-root, root, a) < 0.0d ? Math.nextDown(root) : root;
+    }
+
+    private static double sqrtUp(double a) {
+        var root = Math.sqrt(a);
+        if (a == 0.0d || Double.isInfinite(a)) {
+            return root;
+        }
+        return a < Double.MIN_NORMAL || Math.fma(-root, root, a) > 0.0d ? Math.nextUp(root) : root;
+    }
+}
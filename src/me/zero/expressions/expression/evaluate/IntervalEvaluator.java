@@ -0,0 +1,197 @@
+package me.zero.expressions.expression.evaluate;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
+import me.zero.expressions.expression.ast.*;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Evaluates an expression over ranges of its variables rather than single values, producing an {@link Interval} that
+ * is guaranteed to contain the result at every point within the ranges. A single evaluation can prove that a region
+ * holds no root, or lies entirely outside of a plotted range, so that only the regions which may contain one need to
+ * be subdivided or sampled.
+ * <p>
+ * The bounds are conservative rather than exact: a variable that appears more than once is treated as independent in
+ * each occurrence, so for instance {@code x*x} over {@code [-1, 1]} is bounded by {@code [-1, 1]} while {@code x^2} is
+ * bounded by {@code [0, 1]}. Bounds get tighter as the ranges shrink. Function calls are bounded through their bodies.
+ * Variables without a range are read from the globals of the {@link Evaluator}. The frame of active calls is reused
+ * between evaluations, so an instance should be kept around and isn't safe for concurrent use.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class IntervalEvaluator implements ExpressionVisitor<Interval> {
+
+    private final Evaluator evaluator;
+
+    // Ranges of the variables of the current evaluation, indexed by global slot
+    private Interval[] bounds;
+
+    // Arguments of every active call, the current frame begins at fp
+    private Interval[] frames;
+    private int sp;
+    private int fp;
+
+    public IntervalEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator;
+        this.frames = new Interval[16];
+    }
+
+    /**
+     * @param expression The expression
+     * @param bounds     The range of each variable, keyed by name
+     * @return A range containing the value of the expression for every combination of values within the ranges
+     */
+    public Interval evaluate(Expression expression, Map<String, Interval> bounds) {
+        return this.evaluate(expression, this.bind(bounds));
+    }
+
+    /**
+     * @param expression The expression
+     * @param bounds     The range of each variable, indexed by global slot. A {@code null} range is read from the
+     *                   globals.
+     * @return A range containing the value of the expression for every combination of values within the ranges
+     */
+    public Interval evaluate(Expression expression, Interval[] bounds) {
+        this.evaluator.begin();
+        this.bounds = bounds;
+        this.sp = 0;
+        this.fp = 0;
+        try {
+            return expression.accept(this);
+        } finally {
+            this.bounds = null;
+        }
+    }
+
+    /**
+     * Converts name-keyed ranges into the slot-indexed form accepted by
+     * {@link #evaluate(Expression, Interval[])}.
+     *
+     * @param bounds The range of each variable, keyed by name
+     * @return The ranges, indexed by global slot
+     */
+    public Interval[] bind(Map<String, Interval> bounds) {
+        var bound = new Interval[0];
+        for (var entry : bounds.entrySet()) {
+            var slot = this.evaluator.globalSlot(entry.getKey());
+            if (slot >= bound.length) {
+                bound = Arrays.copyOf(bound, slot + 1);
+            }
+            bound[slot] = entry.getValue();
+        }
+        return bound;
+    }
+
+    @Override
+    public Interval visit(Literal literal) {
+        return Interval.of(literal.value());
+    }
+
+    @Override
+    public Interval visit(Variable variable) {
+        var slot = variable.slot();
+        if (slot < this.bounds.length && this.bounds[slot] != null) {
+            return this.bounds[slot];
+        }
+        return Interval.of(this.evaluator.global(slot));
+    }
+
+    @Override
+    public Interval visit(LocalVariable variable) {
+        return this.frames[this.fp + variable.slot()];
+    }
+
+    @Override
+    public Interval visit(AddSubtract addSubtract) {
+        var sum = Interval.of(0.0d);
+        for (var exp : addSubtract.add()) {
+            sum = sum.add(exp.accept(this));
+        }
+        if (addSubtract.subtract().isEmpty()) {
+            return sum;
+        }
+        var difference = Interval.of(0.0d);
+        for (var exp : addSubtract.subtract()) {
+            difference = difference.add(exp.accept(this));
+        }
+        return sum.subtract(difference);
+    }
+
+    @Override
+    public Interval visit(MultiplyDivide multiplyDivide) {
+        var product = this.product(multiplyDivide.multiply());
+        if (multiplyDivide.divide().isEmpty()) {
+            return product;
+        }
+        return product.divide(this.product(multiplyDivide.divide()));
+    }
+
+    @Override
+    public Interval visit(Exponent exponent) {
+        var base = exponent.base().accept(this);
+        return base.pow(exponent.power().accept(this));
+    }
+
+    @Override
+    public Interval visit(RuntimeFunction function) {
+        var args = function.args();
+        var base = this.sp;
+        for (var arg : args) {
+            this.push(arg.accept(this));
+        }
+
+        var func = this.evaluator.function(function.slot());
+        if (func.getArity() != args.size()) {
+            throw new IllegalArgumentException("Specified arguments do not match expected count!");
+        }
+
+        this.evaluator.enter(function.slot());
+        var caller = this.fp;
+        this.fp = base;
+        var ret = func.getBody().accept(this);
+        this.fp = caller;
+        this.evaluator.exit();
+        this.sp = base;
+        return ret;
+    }
+
+    @Override
+    public Interval visit(BuiltinFunction function) {
+        var args = function.args();
+        var a = args.get(0).accept(this);
+        var b = args.size() > 1 ? args.get(1).accept(this) : null;
+        return function.function().bound(a, b);
+    }
+
+    @Override
+    public Interval visit(Let let) {
+        var base = this.sp;
+        for (var binding : let.bindings()) {
+            this.push(binding.accept(this));
+        }
+        var ret = let.body().accept(this);
+        this.sp = base;
+        return ret;
+    }
+
+    private Interval product(Iterable<Expression> factors) {
+        // Multiplying by the initial 1.0 is exact, so the first factor can be used as-is
+        Interval product = null;
+        for (var exp : factors) {
+            var factor = exp.accept(this);
+            product = product == null ? factor : product.multiply(factor);
+        }
+        return product != null ? product : Interval.of(1.0d);
+    }
+
+    private void push(Interval interval) {
+        if (this.sp == this.frames.length) {
+            this.frames = Arrays.copyOf(this.frames, this.sp * 2);
+        }
+        this.frames[this.sp++] = interval;
+    }
+}
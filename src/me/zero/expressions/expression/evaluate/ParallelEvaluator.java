@@ -0,0 +1,165 @@
+package me.zero.expressions.expression.evaluate;
+
+import me.zero.expressions.expression.Expression;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates an expression over many rows using multiple threads. The rows are split into chunks that fit in cache,
+ * each evaluated by the {@link BatchEvaluator} of the thread it runs on, which in turn uses that thread's
+ * {@link me.zero.expressions.expression.Evaluator} of the engine. Every chunk writes to its own region of the output,
+ * so no synchronization is needed between workers.
+ * <p>
+ * Each chunk evaluates against the definitions that are current when it starts, so variables or functions that are
+ * redefined during an evaluation may only be observed by some rows. This is safe for concurrent use.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class ParallelEvaluator {
+
+    /**
+     * The number of rows below which a range is evaluated by a single task. Large enough to amortize the cost of a
+     * task, while keeping each worker's input and output within its cache.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+
+    private final ExpressionEngine engine;
+    private final Executor executor;
+    private final int chunkSize;
+    private final ThreadLocal<BatchEvaluator> evaluators;
+
+    /**
+     * Creates an evaluator using the common fork/join pool.
+     *
+     * @param engine The engine providing globals and functions
+     */
+    public ParallelEvaluator(ExpressionEngine engine) {
+        this(engine, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param engine    The engine providing globals and functions
+     * @param executor  The executor chunks are evaluated on. A {@link ForkJoinPool} splits the rows recursively, any
+     *                  other executor receives every chunk up front.
+     * @param chunkSize The maximum number of rows evaluated by a single task
+     */
+    public ParallelEvaluator(ExpressionEngine engine, Executor executor, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.engine = engine;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.evaluators = ThreadLocal.withInitial(() -> new BatchEvaluator(engine.getEvaluator()));
+    }
+
+    /**
+     * @param expression The expression
+     * @param columns    The input columns, keyed by variable name
+     * @param output     The array receiving one result per row
+     */
+    public void evaluate(Expression expression, Map<String, double[]> columns, double[] output) {
+        this.evaluate(expression, this.evaluator().bind(columns), output, 0, output.length);
+    }
+
+    /**
+     * @param expression The expression
+     * @param columns    The input columns, indexed by global slot. A {@code null} column is read from the globals.
+     * @param output     The array receiving one result per row
+     * @param offset     The first row to evaluate
+     * @param length     The number of rows to evaluate
+     * @see BatchEvaluator#evaluate(Expression, double[][], double[], int, int)
+     */
+    public void evaluate(Expression expression, double[][] columns, double[] output, int offset, int length) {
+        // Checked up front, so that a bad range fails before any work is scheduled
+        for (var column : columns) {
+            if (column != null && column.length < offset + length) {
+                throw new IllegalArgumentException("Column is shorter than the requested range");
+            }
+        }
+        if (output.length < offset + length) {
+            throw new IllegalArgumentException("Output is shorter than the requested range");
+        }
+
+        if (length <= this.chunkSize) {
+            this.evaluator().evaluate(expression, columns, output, offset, length);
+        } else if (this.executor instanceof ForkJoinPool pool) {
+            pool.invoke(new Range(expression, columns, output, offset, length));
+        } else {
+            this.submit(expression, columns, output, offset, length);
+        }
+    }
+
+    private void submit(Expression expression, double[][] columns, double[] output, int offset, int length) {
+        var tasks = new ArrayList<CompletableFuture<Void>>();
+        for (int start = offset; start < offset + length; start += this.chunkSize) {
+            var from = start;
+            var count = Math.min(this.chunkSize, offset + length - start);
+            tasks.add(CompletableFuture.runAsync(
+                () -> this.evaluator().evaluate(expression, columns, output, from, count), this.executor));
+        }
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return The batch evaluator of the calling thread, with the engine's current budget applied to it
+     */
+    private BatchEvaluator evaluator() {
+        // Each worker's batch evaluator wraps the evaluator of that thread, which only picks up a new budget when it's
+        // retrieved from the engine
+        this.engine.getEvaluator();
+        return this.evaluators.get();
+    }
+
+    /**
+     * A range of rows, split in half until it's no larger than a chunk.
+     */
+    private final class Range extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Expression expression;
+        private final double[][] columns;
+        private final double[] output;
+        private final int offset;
+        private final int length;
+
+        private Range(Expression expression, double[][] columns, double[] output, int offset, int length) {
+            this.expression = expression;
+            this.columns = columns;
+            this.output = output;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.length <= ParallelEvaluator.this.chunkSize) {
+                ParallelEvaluator.this.evaluator()
+                    .evaluate(this.expression, this.columns, this.output, this.offset, this.length);
+                return;
+            }
+            // Split on a chunk boundary, so every leaf except the last is exactly one chunk
+            var chunks = (this.length + ParallelEvaluator.this.chunkSize - 1) / ParallelEvaluator.this.chunkSize;
+            var half = (chunks / 2) * ParallelEvaluator.this.chunkSize;
+            invokeAll(new Range(this.expression, this.columns, this.output, this.offset, half),
+                new Range(this.expression, this.columns, this.output, this.offset + half, this.length - half));
+        }
+    }
+}
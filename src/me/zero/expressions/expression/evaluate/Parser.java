@@ -0,0 +1,159 @@
+package me.zero.expressions.expression.evaluate;
+
+import me.zero.expressions.expression.Definitions;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ast.Literal;
+import me.zero.expressions.expression.ast.LocalVariable;
+import me.zero.expressions.expression.ast.RuntimeFunction;
+import me.zero.expressions.expression.ast.Variable;
+import me.zero.expressions.provider.Builtin;
+import me.zero.expressions.provider.Operator;
+import me.zero.expressions.tokenizer.Token;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static me.zero.expressions.tokenizer.Token.Type.*;
+
+/**
+ * Builds an AST directly from infix tokens by precedence climbing. Binding strength and associativity come from the
+ * {@link Operator} metadata, producing the same trees as converting to postfix with the shunting yard algorithm.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+final class Parser {
+
+    private final List<Token> tokens;
+    private final List<String> parameters;
+    private final Definitions definitions;
+    private int pos;
+
+    /**
+     * @param tokens      The infix tokens, as produced by the tokenizer
+     * @param parameters  The argument names of the function whose body is being parsed, resolved to frame slots.
+     *                    Every other variable is resolved to a global slot.
+     * @param definitions The definitions used to resolve global and function slots
+     */
+    Parser(List<Token> tokens, List<String> parameters, Definitions definitions) {
+        this.tokens = tokens;
+        this.parameters = parameters;
+        this.definitions = definitions;
+    }
+
+    Expression parse() {
+        var expression = this.expression(0);
+        if (this.pos < this.tokens.size()) {
+            throw this.unexpected(this.tokens.get(this.pos));
+        }
+        return expression;
+    }
+
+    /**
+     * Parses an operand followed by every binary operator that binds at least as tightly as the specified precedence.
+     *
+     * @param precedence The minimum precedence of operators consumed at this level
+     * @return The parsed expression
+     */
+    private Expression expression(int precedence) {
+        var left = this.operand();
+        while (this.pos < this.tokens.size()) {
+            var token = this.tokens.get(this.pos);
+            if (token.type() != OPERATOR) {
+                break;
+            }
+            var op = token.operator();
+            if (op.getPrecedence() < precedence) {
+                break;
+            }
+            this.pos++;
+
+            // A right associative operator accepts an operator of equal precedence on its right hand side
+            var next = op.getAssociativity() == Operator.Associativity.RIGHT ? op.getPrecedence() : op.getPrecedence() + 1;
+            left = op.apply(left, this.expression(next));
+        }
+        return left;
+    }
+
+    private Expression operand() {
+        var token = this.next();
+        return switch (token.type()) {
+            case LITERAL -> new Literal(token.doubleValue());
+            case VARIABLE -> this.variable(token.value());
+            case OPERATOR -> {
+                var op = token.operator();
+                if (!op.isUnary()) {
+                    throw this.unexpected(token);
+                }
+                yield op.apply(this.expression(op.getPrecedence() + 1));
+            }
+            case LEFT_PARENTHESIS -> {
+                var expression = this.expression(0);
+                this.expect(RIGHT_PARENTHESIS);
+                yield expression;
+            }
+            case FUNCTION -> this.function(token.value());
+            default -> throw this.unexpected(token);
+        };
+    }
+
+    private Expression variable(String name) {
+        var local = this.parameters.indexOf(name);
+        if (local >= 0) {
+            // TODO: Warn about shadowing a global variable
+            return new LocalVariable(name, local);
+        }
+        return new Variable(name, this.definitions.globalSlot(name));
+    }
+
+    private Expression function(String name) {
+        this.expect(LEFT_PARENTHESIS);
+
+        // "No args" represented by subsequent right after left: ()
+        var args = new ArrayList<Expression>();
+        if (this.peek(RIGHT_PARENTHESIS)) {
+            this.pos++;
+        } else {
+            Token token;
+            do {
+                args.add(this.expression(0));
+                token = this.next();
+            } while (token.type() == ARGUMENT_SEPARATOR);
+            if (token.type() != RIGHT_PARENTHESIS) {
+                throw this.unexpected(token);
+            }
+        }
+
+        // Built-ins are bound directly, anything else is looked up through its slot when it's called
+        var builtin = Builtin.getByName(name);
+        if (builtin.isPresent()) {
+            if (builtin.get().getArity() != args.size()) {
+                throw new IllegalArgumentException("Specified arguments do not match expected count!");
+            }
+            return builtin.get().apply(args.toArray(Expression[]::new));
+        }
+        return new RuntimeFunction(name, this.definitions.functionSlot(name), List.copyOf(args));
+    }
+
+    private boolean peek(Token.Type type) {
+        return this.pos < this.tokens.size() && this.tokens.get(this.pos).type() == type;
+    }
+
+    private void expect(Token.Type type) {
+        var token = this.next();
+        if (token.type() != type) {
+            throw this.unexpected(token);
+        }
+    }
+
+    private Token next() {
+        if (this.pos == this.tokens.size()) {
+            throw new IllegalStateException("Unexpected end of expression");
+        }
+        return this.tokens.get(this.pos++);
+    }
+
+    private IllegalStateException unexpected(Token token) {
+        return new IllegalStateException("Unexpected %s at offset %d".formatted(token.type(), token.offset()));
+    }
+}
@@ -0,0 +1,462 @@
+package me.zero.expressions.expression.evaluate;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.FunctionDescriptor;
+import me.zero.expressions.provider.Builtin;
+import me.zero.expressions.tokenizer.Token;
+import me.zero.expressions.tokenizer.Tokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+/**
+ * Loads a script of statements into an engine, one statement per line, such as a library of function definitions
+ * followed by the variables computed from them. Lines are tokenized and parsed in parallel, since each one is
+ * independent of the others, so the time taken to load a large script scales with the number of cores.
+ * <p>
+ * Every function definition is registered at once, publishing a single snapshot. Calls are resolved through slots, so
+ * functions may be defined in any order, and a function defined on more than one line takes its last definition
+ * everywhere. If the batch is rejected, for instance by a {@link DependencyGraph} that it would make circular, the
+ * functions are defined one at a time instead and only the rejected lines fail. Assignments and plain expressions are
+ * then evaluated on the calling thread, each after the assignments to every global it reads, including through the
+ * functions it calls. A variable assigned on more than one line is read from the closest assignment preceding the
+ * reader, as if the lines were evaluated one by one.
+ * <p>
+ * A line that fails to parse or evaluate doesn't stop the rest of the script from loading. It's reported in the
+ * {@link Result} with its line number, as is every line that reads a variable it was meant to assign.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class ScriptLoader {
+
+    /**
+     * The number of lines parsed by a single task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final ExpressionEngine engine;
+    private final Executor executor;
+    private final int chunkSize;
+
+    /**
+     * Creates a loader that parses on the common fork/join pool.
+     *
+     * @param engine The engine receiving the statements
+     */
+    public ScriptLoader(ExpressionEngine engine) {
+        this(engine, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param engine    The engine receiving the statements
+     * @param executor  The executor lines are parsed on
+     * @param chunkSize The maximum number of lines parsed by a single task
+     */
+    public ScriptLoader(ExpressionEngine engine, Executor executor, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.engine = engine;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param script The script file, in UTF-8
+     * @return The outcome of the load
+     * @throws IOException If the file can't be read
+     */
+    public Result load(Path script) throws IOException {
+        try (var reader = Files.newBufferedReader(script)) {
+            return this.load(reader);
+        }
+    }
+
+    /**
+     * @param script The script, which is read to the end but not closed
+     * @return The outcome of the load
+     * @throws IOException If the script can't be read
+     */
+    public Result load(Reader script) throws IOException {
+        var reader = script instanceof BufferedReader buffered ? buffered : new BufferedReader(script);
+        var lines = new ArrayList<String>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return this.load(lines);
+    }
+
+    /**
+     * @param lines The lines of the script, blank lines are skipped
+     * @return The outcome of the load
+     */
+    public Result load(List<String> lines) {
+        var statements = new ArrayList<Statement>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (!lines.get(i).isBlank()) {
+                statements.add(new Statement(i + 1, lines.get(i)));
+            }
+        }
+
+        // Definitions are parsed first, so that every other statement is linked against all of them at once
+        this.parallel(statements, Statement::parseDefinition);
+        this.define(statements);
+        this.parallel(statements, Statement::parse);
+        this.evaluate(statements);
+
+        var failures = new ArrayList<Failure>();
+        for (var statement : statements) {
+            if (statement.failure != null) {
+                failures.add(new Failure(statement.line, statement.source, statement.failure));
+            }
+        }
+        return new Result(statements.size() - failures.size(), failures);
+    }
+
+    private void parallel(List<Statement> statements, BiConsumer<Statement, ExpressionEngine> action) {
+        if (statements.size() <= this.chunkSize) {
+            statements.forEach(statement -> action.accept(statement, this.engine));
+            return;
+        }
+        var tasks = new ArrayList<CompletableFuture<Void>>();
+        for (int start = 0; start < statements.size(); start += this.chunkSize) {
+            var chunk = statements.subList(start, Math.min(start + this.chunkSize, statements.size()));
+            tasks.add(CompletableFuture.runAsync(
+                () -> chunk.forEach(statement -> action.accept(statement, this.engine)), this.executor));
+        }
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void define(List<Statement> statements) {
+        var functions = new LinkedHashMap<String, FunctionDescriptor>();
+        var owners = new HashMap<String, Statement>();
+        for (var statement : statements) {
+            var compiled = statement.compiled;
+            if (compiled == null || compiled.getKind() != CompiledExpression.Kind.DEFINITION) {
+                continue;
+            }
+            if (Builtin.getByName(compiled.getSymbol()).isPresent()) {
+                statement.fail(new IllegalArgumentException("Cannot redefine built-in function "
+                    + compiled.getSymbol()));
+                continue;
+            }
+            // Later definitions replace earlier ones, but keep the position of the first
+            functions.put(compiled.getSymbol(), FunctionDescriptor.of(compiled.getArguments(),
+                compiled.getExpression()));
+            owners.put(compiled.getSymbol(), statement);
+        }
+        if (functions.isEmpty()) {
+            return;
+        }
+        var definitions = this.engine.getDefinitions();
+        try {
+            definitions.addFunctions(functions);
+        } catch (IllegalArgumentException e) {
+            // Rejected by a validator, so each function is defined on its own to find the lines at fault
+            functions.forEach((name, function) -> {
+                try {
+                    definitions.addFunction(name, function);
+                } catch (IllegalArgumentException rejected) {
+                    owners.get(name).fail(rejected);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evaluates every assignment and plain expression in dependency order, falling back to the order of the lines
+     * wherever the order doesn't matter.
+     */
+    private void evaluate(List<Statement> statements) {
+        var definitions = this.engine.getDefinitions();
+        var snapshot = definitions.snapshot();
+
+        var pending = new ArrayList<Statement>();
+        var assignments = new HashMap<Integer, List<Statement>>();
+        for (var statement : statements) {
+            var compiled = statement.compiled;
+            if (compiled == null || compiled.getKind() == CompiledExpression.Kind.DEFINITION) {
+                continue;
+            }
+            statement.index = pending.size();
+            pending.add(statement);
+            if (compiled.getKind() == CompiledExpression.Kind.ASSIGNMENT) {
+                var slot = definitions.globalSlot(compiled.getSymbol());
+                assignments.computeIfAbsent(slot, k -> new ArrayList<>()).add(statement);
+            }
+        }
+
+        // Successors of each statement, and the number of its predecessors that haven't been evaluated yet
+        var successors = new ArrayList<List<Statement>>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            successors.add(new ArrayList<>());
+        }
+        var waiting = new int[pending.size()];
+        for (var writers : assignments.values()) {
+            for (int i = 1; i < writers.size(); i++) {
+                successors.get(writers.get(i - 1).index).add(writers.get(i));
+                waiting[writers.get(i).index]++;
+            }
+        }
+        for (var statement : pending) {
+            var globals = new BitSet();
+            snapshot.findReads(statement.compiled.getExpression(), globals, new BitSet());
+            for (int slot = globals.nextSetBit(0); slot >= 0; slot = globals.nextSetBit(slot + 1)) {
+                var writers = assignments.get(slot);
+                if (writers == null) {
+                    continue;
+                }
+                var writer = this.findWriter(writers, statement, snapshot.isDefined(slot));
+                var next = writer < 0 ? 0 : writer + 1;
+                if (writer >= 0) {
+                    statement.inputs.add(writers.get(writer));
+                    successors.get(writers.get(writer).index).add(statement);
+                    waiting[statement.index]++;
+                }
+                // The value must be read before the next assignment replaces it
+                if (next < writers.size() && writers.get(next) != statement) {
+                    successors.get(statement.index).add(writers.get(next));
+                    waiting[writers.get(next).index]++;
+                }
+            }
+        }
+
+        // Ready statements are evaluated in the order of their lines
+        var ready = new PriorityQueue<Statement>(Comparator.comparingInt(statement -> statement.line));
+        for (var statement : pending) {
+            if (waiting[statement.index] == 0) {
+                ready.add(statement);
+            }
+        }
+        var evaluator = this.engine.getEvaluator();
+        var evaluated = 0;
+        while (!ready.isEmpty()) {
+            var statement = ready.poll();
+            evaluated++;
+            statement.evaluate(evaluator);
+            for (var successor : successors.get(statement.index)) {
+                if (--waiting[successor.index] == 0) {
+                    ready.add(successor);
+                }
+            }
+        }
+        if (evaluated < pending.size()) {
+            this.failBlocked(pending, successors, waiting);
+        }
+    }
+
+    /**
+     * Fails every statement that couldn't be evaluated. Those on a cycle are circular, the rest are downstream of one
+     * and fail because of the statement they were waiting on.
+     */
+    private void failBlocked(List<Statement> pending, List<List<Statement>> successors, int[] waiting) {
+        var cyclic = this.findCycles(pending, successors, waiting);
+        var queue = new ArrayDeque<Statement>();
+        for (int i = cyclic.nextSetBit(0); i >= 0; i = cyclic.nextSetBit(i + 1)) {
+            pending.get(i).fail(new IllegalArgumentException("Circular reference between assignments"));
+            queue.add(pending.get(i));
+        }
+        while (!queue.isEmpty()) {
+            var statement = queue.poll();
+            for (var successor : successors.get(statement.index)) {
+                if (successor.failure == null) {
+                    successor.fail(new IllegalArgumentException("Depends on line " + statement.line
+                        + ", which failed"));
+                    queue.add(successor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the strongly connected components of the statements that are still waiting, with Tarjan's algorithm.
+     *
+     * @return The indices of the statements that are on a cycle
+     */
+    private BitSet findCycles(List<Statement> pending, List<List<Statement>> successors, int[] waiting) {
+        var order = new int[pending.size()];
+        var lowest = new int[pending.size()];
+        var onStack = new BitSet();
+        var stack = new ArrayDeque<Statement>();
+        var cyclic = new BitSet();
+        var counter = 0;
+
+        // Each frame of the search is a statement and the position of the next successor to visit
+        var path = new ArrayDeque<int[]>();
+        for (var root : pending) {
+            if (waiting[root.index] == 0 || order[root.index] != 0) {
+                continue;
+            }
+            path.push(new int[] { root.index, 0 });
+            order[root.index] = lowest[root.index] = ++counter;
+            stack.push(root);
+            onStack.set(root.index);
+            while (!path.isEmpty()) {
+                var frame = path.peek();
+                var index = frame[0];
+                var next = successors.get(index);
+                if (frame[1] < next.size()) {
+                    var successor = next.get(frame[1]++);
+                    if (waiting[successor.index] == 0) {
+                        continue;
+                    }
+                    if (order[successor.index] == 0) {
+                        path.push(new int[] { successor.index, 0 });
+                        order[successor.index] = lowest[successor.index] = ++counter;
+                        stack.push(successor);
+                        onStack.set(successor.index);
+                    } else if (onStack.get(successor.index)) {
+                        lowest[index] = Math.min(lowest[index], order[successor.index]);
+                    }
+                    continue;
+                }
+                path.pop();
+                if (!path.isEmpty()) {
+                    var parent = path.peek()[0];
+                    lowest[parent] = Math.min(lowest[parent], lowest[index]);
+                }
+                if (lowest[index] == order[index]) {
+                    // A component is a cycle if it has more than one statement, or a statement that waits on itself
+                    var members = new ArrayList<Statement>();
+                    Statement member;
+                    do {
+                        member = stack.pop();
+                        onStack.clear(member.index);
+                        members.add(member);
+                    } while (member.index != index);
+                    if (members.size() > 1 || next.contains(member)) {
+                        members.forEach(statement -> cyclic.set(statement.index));
+                    }
+                }
+            }
+        }
+        return cyclic;
+    }
+
+    /**
+     * @param writers The assignments to a global, in the order of their lines
+     * @param reader  The statement reading the global
+     * @param defined Whether the global was already defined before the script was loaded
+     * @return The index of the assignment the reader observes, or {@code -1} if it observes the existing value
+     */
+    private int findWriter(List<Statement> writers, Statement reader, boolean defined) {
+        var writer = -1;
+        for (int i = 0; i < writers.size() && writers.get(i).line < reader.line; i++) {
+            writer = i;
+        }
+        if (writer < 0 && !defined && writers.get(0) != reader) {
+            // Read before it's assigned, so the first assignment on a later line is used instead
+            writer = 0;
+        }
+        return writer;
+    }
+
+    /**
+     * A line of a script, tracked through each stage of loading.
+     */
+    private static final class Statement {
+
+        private final int line;
+        private final String source;
+        private List<Token> tokens;
+        private CompiledExpression compiled;
+        private RuntimeException failure;
+
+        // The position among the statements to evaluate, and the assignments providing the globals it reads
+        private int index;
+        private final List<Statement> inputs;
+
+        private Statement(int line, String source) {
+            this.line = line;
+            this.source = source;
+            this.inputs = new ArrayList<>();
+        }
+
+        private void parseDefinition(ExpressionEngine engine) {
+            try {
+                this.tokens = Tokenizer.tokenize(this.source);
+                if (ExpressionEngine.isDefinition(this.tokens)) {
+                    this.compiled = engine.parse(this.source, this.tokens);
+                    this.tokens = null;
+                }
+            } catch (RuntimeException e) {
+                this.fail(e);
+            }
+        }
+
+        private void parse(ExpressionEngine engine) {
+            if (this.tokens == null) {
+                return;
+            }
+            try {
+                this.compiled = engine.parse(this.source, this.tokens);
+            } catch (RuntimeException e) {
+                this.fail(e);
+            } finally {
+                this.tokens = null;
+            }
+        }
+
+        private void evaluate(Evaluator evaluator) {
+            for (var input : this.inputs) {
+                if (input.failure != null) {
+                    this.fail(new IllegalArgumentException("Depends on line " + input.line + ", which failed"));
+                    return;
+                }
+            }
+            try {
+                this.compiled.eval(evaluator);
+            } catch (RuntimeException e) {
+                this.fail(e);
+            }
+        }
+
+        private void fail(RuntimeException failure) {
+            this.failure = failure;
+            this.compiled = null;
+            this.tokens = null;
+        }
+    }
+
+    /**
+     * @param loaded   The number of statements that were loaded successfully
+     * @param failures The statements that failed, in the order of their lines
+     */
+    public record Result(int loaded, List<Failure> failures) {
+
+        public boolean isSuccessful() {
+            return this.failures.isEmpty();
+        }
+    }
+
+    /**
+     * @param line   The line number, starting at 1
+     * @param source The text of the line
+     * @param cause  The reason it failed
+     */
+    public record Failure(int line, String source, RuntimeException cause) {
+
+        @Override
+        public String toString() {
+            return "Line " + this.line + ": " + this.cause.getMessage();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package me.zero.expressions.expression.evaluate.bytecode;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
+import me.zero.expressions.expression.ast.*;
+import me.zero.expressions.expression.evaluate.Evaluable;
+import me.zero.expressions.expression.evaluate.interpreter.Program;
+
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Generates a hidden class implementing {@link Evaluable} whose {@code eval} method computes an entire expression as
+ * straight-line double arithmetic. Variable reads and function calls go through the same slot based {@link Evaluator}
+ * methods as the tree, which the JIT inlines into the generated method.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class BytecodeCompiler implements ExpressionVisitor<Void> {
+
+    private static final String CLASS_NAME = "me/zero/expressions/expression/evaluate/bytecode/GeneratedExpression";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String MATH = "java/lang/Math";
+    private static final String EVALUATOR = "me/zero/expressions/expression/Evaluator";
+    private static final String EVALUABLE = "me/zero/expressions/expression/evaluate/Evaluable";
+    private static final String EVAL_DESCRIPTOR = "(L" + EVALUATOR + ";)D";
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int DCONST_0 = 0x0E;
+    private static final int DCONST_1 = 0x0F;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_1 = 0x2B;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6B;
+    private static final int DDIV = 0x6F;
+    private static final int DRETURN = 0xAF;
+    private static final int RETURN = 0xB1;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+
+    private final ClassWriter cw;
+    private final ClassWriter.Code code;
+
+    private BytecodeCompiler() {
+        this.cw = new ClassWriter(CLASS_NAME, OBJECT, EVALUABLE);
+        this.code = new ClassWriter.Code(2);
+    }
+
+    /**
+     * Compiles the specified expression into a generated class. If the expression is too large to fit into a
+     * single method, evaluation falls back to an interpreted {@link Program}.
+     *
+     * @param expression The expression
+     * @return The compiled form
+     */
+    public static Evaluable compile(Expression expression) {
+        return new BytecodeCompiler().generate(expression);
+    }
+
+    private Evaluable generate(Expression expression) {
+        expression.accept(this);
+        this.code.op(DRETURN, -2);
+        if (!this.cw.fits(this.code)) {
+            return Program.compile(expression);
+        }
+
+        this.cw.method(ClassWriter.ACC_PUBLIC, "<init>", "()V", new ClassWriter.Code(1)
+            .op(ALOAD_0, 1)
+            .op(INVOKESPECIAL, this.cw.methodRef(OBJECT, "<init>", "()V"), -1)
+            .op(RETURN, 0));
+        this.cw.method(ClassWriter.ACC_PUBLIC, "eval", EVAL_DESCRIPTOR, this.code);
+
+        try {
+            var lookup = MethodHandles.lookup().defineHiddenClass(this.cw.toByteArray(), true);
+            return (Evaluable) lookup.lookupClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to define generated expression class", e);
+        }
+    }
+
+    @Override
+    public Void visit(Literal literal) {
+        var value = literal.value();
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            this.code.op(DCONST_0, 2);
+        } else if (value == 1.0d) {
+            this.code.op(DCONST_1, 2);
+        } else {
+            this.code.op(LDC2_W, this.cw.doubleConst(value), 2);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(Variable variable) {
+        this.code.op(ALOAD_1, 1);
+        this.pushInt(variable.slot());
+        this.code.op(INVOKEVIRTUAL, this.cw.methodRef(EVALUATOR, "global", "(I)D"), 0);
+        return null;
+    }
+
+    @Override
+    public Void visit(LocalVariable variable) {
+        this.code.op(ALOAD_1, 1);
+        this.pushInt(variable.slot());
+        this.code.op(INVOKEVIRTUAL, this.cw.methodRef(EVALUATOR, "local", "(I)D"), 0);
+        return null;
+    }
+
+    @Override
+    public Void visit(AddSubtract addSubtract) {
+        // Mirrors AddSubtract#eval exactly, including the leading 0.0, so both backends agree bit-for-bit
+        this.code.op(DCONST_0, 2);
+        for (var exp : addSubtract.add()) {
+            exp.accept(this);
+            this.code.op(DADD, -2);
+        }
+        if (!addSubtract.subtract().isEmpty()) {
+            this.code.op(DCONST_0, 2);
+            for (var exp : addSubtract.subtract()) {
+                exp.accept(this);
+                this.code.op(DADD, -2);
+            }
+            this.code.op(DSUB, -2);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(MultiplyDivide multiplyDivide) {
+        // Multiplying by the initial 1.0 is exact, so the leading constant can be dropped from each product
+        this.product(multiplyDivide.multiply());
+        if (!multiplyDivide.divide().isEmpty()) {
+            this.product(multiplyDivide.divide());
+            this.code.op(DDIV, -2);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(Exponent exponent) {
+        exponent.base().accept(this);
+        exponent.power().accept(this);
+        this.code.op(INVOKESTATIC, this.cw.methodRef(MATH, "pow", "(DD)D"), -2);
+        return null;
+    }
+
+    @Override
+    public Void visit(RuntimeFunction function) {
+        // Push each argument, then invoke through the function slot so that redefinitions are picked up
+        for (var arg : function.args()) {
+            this.code.op(ALOAD_1, 1);
+            arg.accept(this);
+            this.code.op(INVOKEVIRTUAL, this.cw.methodRef(EVALUATOR, "push", "(D)V"), -3);
+        }
+        this.code.op(ALOAD_1, 1);
+        this.pushInt(function.slot());
+        this.pushInt(function.args().size());
+        this.code.op(INVOKEVIRTUAL, this.cw.methodRef(EVALUATOR, "invoke", "(II)D"), -1);
+        return null;
+    }
+
+    @Override
+    public Void visit(BuiltinFunction function) {
+        // Built-ins can't be redefined, so they're called directly
+        for (var arg : function.args()) {
+            arg.accept(this);
+        }
+        var descriptor = "(" + "D".repeat(function.args().size()) + ")D";
+        this.code.op(INVOKESTATIC, this.cw.methodRef(MATH, function.function().getMethod(), descriptor),
+            2 - 2 * function.args().size());
+        return null;
+    }
+
+    @Override
+    public Void visit(Let let) {
+        for (var binding : let.bindings()) {
+            this.code.op(ALOAD_1, 1);
+            binding.accept(this);
+            this.code.op(INVOKEVIRTUAL, this.cw.methodRef(EVALUATOR, "push", "(D)V"), -3);
+        }
+        let.body().accept(this);
+        this.code.op(ALOAD_1, 1);
+        this.pushInt(let.bindings().size());
+        this.code.op(INVOKEVIRTUAL, this.cw.methodRef(EVALUATOR, "drop", "(I)V"), -2);
+        return null;
+    }
+
+    private void product(Iterable<Expression> factors) {
+        var first = true;
+        for (var exp : factors) {
+            exp.accept(this);
+            if (!first) {
+                this.code.op(DMUL, -2);
+            }
+            first = false;
+        }
+        if (first) {
+            this.code.op(DCONST_1, 2);
+        }
+    }
+
+    private void pushInt(int value) {
+        if (value >= 0 && value <= 5) {
+            this.code.op(ICONST_0 + value, 1);
+        } else if (value <= Byte.MAX_VALUE) {
+            this.code.op(BIPUSH, 1).u1(value);
+        } else if (value <= Short.MAX_VALUE) {
+            this.code.op(SIPUSH, value, 1);
+        } else {
+            this.ldc(this.cw.integer(value));
+        }
+    }
+
+    private void ldc(int index) {
+        if (index <= 0xFF) {
+            this.code.op(LDC, 1).u1(index);
+        } else {
+            this.code.op(LDC_W, index, 1);
+        }
+    }
+}
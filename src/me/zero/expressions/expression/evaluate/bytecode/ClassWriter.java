@@ -0,0 +1,225 @@
+package me.zero.expressions.expression.evaluate.bytecode;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal class file writer covering exactly what {@link BytecodeCompiler} emits: a single class with a constructor
+ * and one straight-line method. Because the generated code never branches, no {@code StackMapTable} is
+ * required.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+final class ClassWriter {
+
+    static final int MAX_CODE_LENGTH = 65535;
+
+    private static final int VERSION = 61; // Java 17
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    private final Bytes pool = new Bytes();
+    private final Map<String, Integer> entries = new HashMap<>();
+    private int poolCount = 1;
+
+    private final Bytes methods = new Bytes();
+    private int methodCount;
+
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+
+    ClassWriter(String name, String superName, String... interfaces) {
+        this.thisClass = this.classRef(name);
+        this.superClass = this.classRef(superName);
+        this.interfaces = Arrays.stream(interfaces).mapToInt(this::classRef).toArray();
+    }
+
+    /**
+     * @param code A method body that is about to be added
+     * @return Whether the body and the constant pool are within the limits of the class file format
+     */
+    boolean fits(Code code) {
+        return code.length() <= MAX_CODE_LENGTH && this.poolCount <= 0xFFFF;
+    }
+
+    void method(int access, String name, String descriptor, Code code) {
+        if (code.length() > MAX_CODE_LENGTH) {
+            throw new IllegalStateException("Method code exceeds maximum length");
+        }
+        this.methods.u2(access).u2(this.utf8(name)).u2(this.utf8(descriptor)).u2(1);
+        this.methods.u2(this.utf8("Code")).u4(12 + code.length());
+        this.methods.u2(code.maxStack()).u2(code.maxLocals()).u4(code.length()).bytes(code.toByteArray());
+        this.methods.u2(0).u2(0); // No exception table, no attributes
+        this.methodCount++;
+    }
+
+    byte[] toByteArray() {
+        if (this.poolCount > 0xFFFF) {
+            throw new IllegalStateException("Constant pool exceeds maximum size");
+        }
+        var out = new Bytes();
+        out.u4(0xCAFEBABE).u2(0).u2(VERSION);
+        out.u2(this.poolCount).bytes(this.pool.toByteArray());
+        out.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER).u2(this.thisClass).u2(this.superClass);
+        out.u2(this.interfaces.length);
+        for (var itf : this.interfaces) {
+            out.u2(itf);
+        }
+        out.u2(0); // No fields
+        out.u2(this.methodCount).bytes(this.methods.toByteArray());
+        out.u2(0);
+        return out.toByteArray();
+    }
+
+    int utf8(String value) {
+        return this.entry("U" + value, 1, () -> {
+            var encoded = new Bytes();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x01 && c <= 0x7F) {
+                    encoded.u1(c);
+                } else if (c <= 0x7FF) {
+                    encoded.u1(0xC0 | (c >> 6)).u1(0x80 | (c & 0x3F));
+                } else {
+                    encoded.u1(0xE0 | (c >> 12)).u1(0x80 | ((c >> 6) & 0x3F)).u1(0x80 | (c & 0x3F));
+                }
+            }
+            this.pool.u1(1).u2(encoded.length()).bytes(encoded.toByteArray());
+        });
+    }
+
+    int classRef(String internalName) {
+        int name = this.utf8(internalName);
+        return this.entry("C" + internalName, 1, () -> this.pool.u1(7).u2(name));
+    }
+
+    int integer(int value) {
+        return this.entry("I" + value, 1, () -> this.pool.u1(3).u4(value));
+    }
+
+    int doubleConst(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        // Doubles occupy two constant pool slots
+        return this.entry("D" + bits, 2, () -> this.pool.u1(6).u4((int) (bits >>> 32)).u4((int) bits));
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        return this.memberRef(10, owner, name, descriptor);
+    }
+
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        int cls = this.classRef(owner);
+        int nameIdx = this.utf8(name);
+        int descIdx = this.utf8(descriptor);
+        int nat = this.entry("N" + name + ":" + descriptor, 1, () -> this.pool.u1(12).u2(nameIdx).u2(descIdx));
+        return this.entry("M" + tag + owner + "." + name + ":" + descriptor, 1, () -> this.pool.u1(tag).u2(cls).u2(nat));
+    }
+
+    private int entry(String key, int size, Runnable writer) {
+        var existing = this.entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int index = this.poolCount;
+        writer.run();
+        this.poolCount += size;
+        this.entries.put(key, index);
+        return index;
+    }
+
+    /**
+     * A method body under construction, tracking the operand stack depth of every emitted instruction so that
+     * {@code max_stack} can be derived without a separate analysis pass.
+     */
+    static final class Code {
+
+        private final Bytes code = new Bytes();
+        private final int maxLocals;
+        private int stack;
+        private int maxStack;
+
+        Code(int maxLocals) {
+            this.maxLocals = maxLocals;
+        }
+
+        Code op(int opcode, int stackDelta) {
+            this.code.u1(opcode);
+            this.stack += stackDelta;
+            this.maxStack = Math.max(this.maxStack, this.stack);
+            return this;
+        }
+
+        Code op(int opcode, int operand, int stackDelta) {
+            this.op(opcode, stackDelta);
+            this.code.u2(operand);
+            return this;
+        }
+
+        Code u1(int value) {
+            this.code.u1(value);
+            return this;
+        }
+
+        int length() {
+            return this.code.length();
+        }
+
+        int maxStack() {
+            return this.maxStack;
+        }
+
+        int maxLocals() {
+            return this.maxLocals;
+        }
+
+        byte[] toByteArray() {
+            return this.code.toByteArray();
+        }
+    }
+
+    private static final class Bytes {
+
+        private byte[] data = new byte[64];
+        private int length;
+
+        Bytes u1(int value) {
+            this.ensure(1);
+            this.data[this.length++] = (byte) value;
+            return this;
+        }
+
+        Bytes u2(int value) {
+            return this.u1(value >>> 8).u1(value);
+        }
+
+        Bytes u4(int value) {
+            return this.u2(value >>> 16).u2(value);
+        }
+
+        Bytes bytes(byte[] bytes) {
+            this.ensure(bytes.length);
+            System.arraycopy(bytes, 0, this.data, this.length, bytes.length);
+            this.length += bytes.length;
+            return this;
+        }
+
+        int length() {
+            return this.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(this.data, this.length);
+        }
+
+        private void ensure(int extra) {
+            if (this.length + extra > this.data.length) {
+                this.data = Arrays.copyOf(this.data, Math.max(this.data.length * 2, this.length + extra));
+            }
+        }
+    }
+}
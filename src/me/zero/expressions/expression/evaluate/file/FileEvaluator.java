@@ -0,0 +1,318 @@
+package me.zero.expressions.expression.evaluate.file;
+
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.evaluate.BatchEvaluator;
+import me.zero.expressions.expression.evaluate.CompiledExpression;
+import me.zero.expressions.expression.evaluate.ExpressionEngine;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Evaluates an expression once per row of a data file, streaming the results into an output file. Variables are bound
+ * to the columns of the input by name; any other variable is read from the globals of the engine.
+ * <p>
+ * Binary files are raw little-endian doubles stored row by row, with the column names provided separately. They're
+ * read through memory-mapped windows, so only the window being evaluated is resident. CSV files must start with a
+ * header naming each column and are read in chunks of rows. In both cases only the columns referenced by the
+ * expression are decoded. Rows are evaluated in chunks by a {@link BatchEvaluator}, so the dataset is never held on
+ * the heap.
+ * <p>
+ * The output format follows the extension of the output file: a {@code .csv} file receives a single {@code result}
+ * column as text, anything else receives one little-endian double per row.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class FileEvaluator {
+
+    /**
+     * The number of rows decoded and evaluated at a time.
+     */
+    private static final int CHUNK_ROWS = 64 * 1024;
+
+    /**
+     * The number of bytes of a binary file mapped at a time.
+     */
+    private static final long WINDOW_BYTES = 64L * 1024 * 1024;
+
+    private final ExpressionEngine engine;
+    private final int blockSize;
+
+    public FileEvaluator(ExpressionEngine engine) {
+        this(engine, BatchEvaluator.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param engine    The engine providing globals and functions
+     * @param blockSize The block size of the {@link BatchEvaluator} evaluating each chunk of rows
+     */
+    public FileEvaluator(ExpressionEngine engine, int blockSize) {
+        this.engine = engine;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @param expression The expression, or an assignment whose right hand side is evaluated for each row
+     * @param input      The binary input file
+     * @param columns    The name of each column of the input, in the order they're stored within a row
+     * @param output     The output file, which is replaced if it exists
+     * @return The number of rows evaluated
+     * @throws IOException If the files can't be read or written
+     */
+    public long evaluateBinary(CompiledExpression expression, Path input, List<String> columns, Path output)
+            throws IOException {
+        var exp = getExpression(expression);
+        var width = columns.size();
+        if (width == 0) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+
+        try (var channel = FileChannel.open(input, StandardOpenOption.READ); var sink = this.sink(output)) {
+            var recordBytes = (long) width * Double.BYTES;
+            if (channel.size() % recordBytes != 0) {
+                throw new IllegalArgumentException("File size isn't a multiple of the row size");
+            }
+            var rows = channel.size() / recordBytes;
+
+            var capacity = (int) Math.min(CHUNK_ROWS, Math.max(rows, 1));
+            var chunk = new Chunk(this.engine, this.blockSize, exp, columns, capacity);
+            var windowRows = Math.max(WINDOW_BYTES / recordBytes / chunk.capacity, 1) * chunk.capacity;
+            for (long windowStart = 0; windowStart < rows; windowStart += windowRows) {
+                var windowLength = Math.min(windowRows, rows - windowStart);
+                var window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart * recordBytes,
+                    windowLength * recordBytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+
+                for (int start = 0; start < windowLength; start += chunk.capacity) {
+                    var length = (int) Math.min(chunk.capacity, windowLength - start);
+                    chunk.decode(window, start, length, width);
+                    sink.write(chunk.evaluate(length), length);
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * @param expression The expression, or an assignment whose right hand side is evaluated for each row
+     * @param input      The CSV input file, starting with a header
+     * @param output     The output file, which is replaced if it exists
+     * @return The number of rows evaluated
+     * @throws IOException If the files can't be read or written
+     */
+    public long evaluateCsv(CompiledExpression expression, Path input, Path output) throws IOException {
+        var exp = getExpression(expression);
+        try (var reader = Files.newBufferedReader(input); var sink = this.sink(output)) {
+            var header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("Missing CSV header");
+            }
+            var columns = Arrays.stream(header.split(",")).map(String::strip).toList();
+            var chunk = new Chunk(this.engine, this.blockSize, exp, columns, CHUNK_ROWS);
+
+            long rows = 0;
+            int length;
+            while ((length = chunk.parse(reader, rows + 2)) > 0) {
+                sink.write(chunk.evaluate(length), length);
+                rows += length;
+            }
+            return rows;
+        }
+    }
+
+    private Sink sink(Path output) throws IOException {
+        if (output.getFileName().toString().endsWith(".csv")) {
+            return new CsvSink(Files.newBufferedWriter(output));
+        }
+        return new BinarySink(FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    private static Expression getExpression(CompiledExpression expression) {
+        if (expression.getKind() == CompiledExpression.Kind.DEFINITION) {
+            throw new IllegalArgumentException("Function definitions can't be evaluated over a file");
+        }
+        return expression.getExpression();
+    }
+
+    /**
+     * The decoded values of the referenced columns for a chunk of rows, along with the buffer receiving the results.
+     */
+    private static final class Chunk {
+
+        private final ExpressionEngine engine;
+        private final Expression expression;
+        private final BatchEvaluator evaluator;
+        private final int capacity;
+
+        // The global slot each column of the file is bound to, or -1 if the expression doesn't reference it
+        private final int[] slots;
+        private final double[][] columns;
+        private final double[] output;
+
+        private Chunk(ExpressionEngine engine, int blockSize, Expression expression, List<String> names, int capacity) {
+            this.engine = engine;
+            this.expression = expression;
+            this.evaluator = new BatchEvaluator(engine.getEvaluator(), Math.min(capacity, blockSize));
+            this.capacity = capacity;
+
+            // Globals read by the bodies of functions that weren't inlined are bound to columns as well
+            var definitions = engine.getDefinitions();
+            var referenced = new BitSet();
+            definitions.snapshot().findReads(expression, referenced, new BitSet());
+
+            this.slots = new int[names.size()];
+            var columns = new double[0][];
+            for (int i = 0; i < names.size(); i++) {
+                var slot = definitions.getGlobalSymbols().indexOf(names.get(i));
+                if (slot < 0 || !referenced.get(slot)) {
+                    this.slots[i] = -1;
+                    continue;
+                }
+                if (slot < columns.length && columns[slot] != null) {
+                    throw new IllegalArgumentException("Duplicate column " + names.get(i));
+                }
+                if (slot >= columns.length) {
+                    columns = Arrays.copyOf(columns, slot + 1);
+                }
+                columns[slot] = new double[capacity];
+                this.slots[i] = slot;
+            }
+            this.columns = columns;
+            this.output = new double[capacity];
+        }
+
+        private void decode(DoubleBuffer window, int start, int length, int width) {
+            for (int c = 0; c < width; c++) {
+                var slot = this.slots[c];
+                if (slot < 0) {
+                    continue;
+                }
+                var column = this.columns[slot];
+                var index = start * width + c;
+                for (int r = 0; r < length; r++, index += width) {
+                    column[r] = window.get(index);
+                }
+            }
+        }
+
+        /**
+         * @param reader The reader, positioned at the start of a row
+         * @param line   The line number of the first row, for error messages
+         * @return The number of rows parsed, zero at the end of the file
+         */
+        private int parse(BufferedReader reader, long line) throws IOException {
+            var width = this.slots.length;
+            var length = 0;
+            String row;
+            while (length < this.capacity && (row = reader.readLine()) != null) {
+                if (row.isBlank()) {
+                    line++;
+                    continue;
+                }
+                var start = 0;
+                for (int c = 0; c < width; c++) {
+                    var end = row.indexOf(',', start);
+                    if (end < 0) {
+                        if (c != width - 1) {
+                            throw new IllegalArgumentException("Expected " + width + " columns on line " + line);
+                        }
+                        end = row.length();
+                    }
+                    var slot = this.slots[c];
+                    if (slot >= 0) {
+                        try {
+                            this.columns[slot][length] = Double.parseDouble(row.substring(start, end).strip());
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid number on line " + line, e);
+                        }
+                    }
+                    start = end + 1;
+                }
+                if (start <= row.length()) {
+                    throw new IllegalArgumentException("Expected " + width + " columns on line " + line);
+                }
+                length++;
+                line++;
+            }
+            return length;
+        }
+
+        private double[] evaluate(int length) {
+            // Applies a budget set on the engine since the chunk was created
+            this.engine.getEvaluator();
+            this.evaluator.evaluate(this.expression, this.columns, this.output, 0, length);
+            return this.output;
+        }
+    }
+
+    private interface Sink extends AutoCloseable {
+
+        void write(double[] values, int length) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class BinarySink implements Sink {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        private BinarySink(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(CHUNK_ROWS * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        @Override
+        public void write(double[] values, int length) throws IOException {
+            // Written through a reused buffer rather than mapped, since mappings aren't released until collected
+            this.buffer.clear();
+            this.buffer.asDoubleBuffer().put(values, 0, length);
+            this.buffer.limit(length * Double.BYTES);
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+    }
+
+    private static final class CsvSink implements Sink {
+
+        private final BufferedWriter writer;
+
+        private CsvSink(BufferedWriter writer) throws IOException {
+            this.writer = writer;
+            this.writer.write("result");
+            this.writer.newLine();
+        }
+
+        @Override
+        public void write(double[] values, int length) throws IOException {
+            for (int i = 0; i < length; i++) {
+                this.writer.write(Double.toString(values[i]));
+                this.writer.newLine();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.writer.close();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package me.zero.expressions.expression.evaluate.interpreter;
+
+import me.zero.expressions.expression.Evaluator;
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.evaluate.Evaluable;
+import me.zero.expressions.provider.Builtin;
+
+/**
+ * An expression lowered into a flat array of postfix instructions, executed by a single loop over a primitive operand
+ * stack. Evaluation doesn't allocate and doesn't recurse, except through function calls, which go through the same
+ * slot based {@link Evaluator} methods as the tree.
+ * <p>
+ * Each instruction is an opcode followed by its operands. Operands are slots, argument counts or an index into the
+ * constant pool.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class Program implements Evaluable {
+
+    /**
+     * {@code CONST index}: Pushes a constant from the pool
+     */
+    static final int CONST = 0;
+
+    /**
+     * {@code GLOBAL slot}: Pushes a global variable
+     */
+    static final int GLOBAL = 1;
+
+    /**
+     * {@code LOCAL slot}: Pushes a value from the current function frame
+     */
+    static final int LOCAL = 2;
+
+    /*
+     * Arithmetic instructions combine the top two operands. Each also has three variants that take their right hand
+     * side directly from a constant, global or local operand rather than the stack, which are offset from the base
+     * opcode by the matching leaf opcode plus one.
+     */
+    static final int ADD = 3;
+    static final int ADD_CONST = 4;
+    static final int ADD_GLOBAL = 5;
+    static final int ADD_LOCAL = 6;
+    static final int SUB = 7;
+    static final int SUB_CONST = 8;
+    static final int SUB_GLOBAL = 9;
+    static final int SUB_LOCAL = 10;
+    static final int MUL = 11;
+    static final int MUL_CONST = 12;
+    static final int MUL_GLOBAL = 13;
+    static final int MUL_LOCAL = 14;
+    static final int DIV = 15;
+    static final int DIV_CONST = 16;
+    static final int DIV_GLOBAL = 17;
+    static final int DIV_LOCAL = 18;
+    static final int POW = 19;
+    static final int POW_CONST = 20;
+    static final int POW_GLOBAL = 21;
+    static final int POW_LOCAL = 22;
+
+    /**
+     * {@code PUSH}: Moves the top operand onto the evaluator's argument stack
+     */
+    static final int PUSH = 23;
+
+    /**
+     * {@code CALL slot argc}: Invokes a function with the top {@code argc} values of the argument stack, pushing the
+     * result
+     */
+    static final int CALL = 24;
+
+    /**
+     * {@code DROP count}: Pops values from the evaluator's argument stack
+     */
+    static final int DROP = 25;
+
+    /**
+     * {@code BUILTIN index}: Replaces the top operand, or the top two for binary functions, with the result of a
+     * built-in function
+     */
+    static final int BUILTIN = 26;
+
+    private static final Builtin[] BUILTINS = Builtin.values();
+
+    private final int[] code;
+    private final double[] constants;
+    private final int maxStack;
+
+    Program(int[] code, double[] constants, int maxStack) {
+        this.code = code;
+        this.constants = constants;
+        this.maxStack = maxStack;
+    }
+
+    /**
+     * Lowers the specified expression into a program.
+     *
+     * @param expression The expression
+     * @return The program
+     */
+    public static Program compile(Expression expression) {
+        return ProgramCompiler.compile(expression);
+    }
+
+    @Override
+    public double eval(Evaluator ev) {
+        var code = this.code;
+        var constants = this.constants;
+        var stack = ev.acquireOperands(this.maxStack);
+        var top = 0;
+
+        for (int pc = 0; pc < code.length; ) {
+            switch (code[pc++]) {
+                case CONST -> stack[top++] = constants[code[pc++]];
+                case GLOBAL -> stack[top++] = ev.global(code[pc++]);
+                case LOCAL -> stack[top++] = ev.local(code[pc++]);
+                case ADD -> {
+                    top--;
+                    stack[top - 1] += stack[top];
+                }
+                case ADD_CONST -> stack[top - 1] += constants[code[pc++]];
+                case ADD_GLOBAL -> stack[top - 1] += ev.global(code[pc++]);
+                case ADD_LOCAL -> stack[top - 1] += ev.local(code[pc++]);
+                case SUB -> {
+                    top--;
+                    stack[top - 1] -= stack[top];
+                }
+                case SUB_CONST -> stack[top - 1] -= constants[code[pc++]];
+                case SUB_GLOBAL -> stack[top - 1] -= ev.global(code[pc++]);
+                case SUB_LOCAL -> stack[top - 1] -= ev.local(code[pc++]);
+                case MUL -> {
+                    top--;
+                    stack[top - 1] *= stack[top];
+                }
+                case MUL_CONST -> stack[top - 1] *= constants[code[pc++]];
+                case MUL_GLOBAL -> stack[top - 1] *= ev.global(code[pc++]);
+                case MUL_LOCAL -> stack[top - 1] *= ev.local(code[pc++]);
+                case DIV -> {
+                    top--;
+                    stack[top - 1] /= stack[top];
+                }
+                case DIV_CONST -> stack[top - 1] /= constants[code[pc++]];
+                case DIV_GLOBAL -> stack[top - 1] /= ev.global(code[pc++]);
+                case DIV_LOCAL -> stack[top - 1] /= ev.local(code[pc++]);
+                case POW -> {
+                    top--;
+                    stack[top - 1] = Math.pow(stack[top - 1], stack[top]);
+                }
+                case POW_CONST -> stack[top - 1] = Math.pow(stack[top - 1], constants[code[pc++]]);
+                case POW_GLOBAL -> stack[top - 1] = Math.pow(stack[top - 1], ev.global(code[pc++]));
+                case POW_LOCAL -> stack[top - 1] = Math.pow(stack[top - 1], ev.local(code[pc++]));
+                case PUSH -> ev.push(stack[--top]);
+                case CALL -> {
+                    var slot = code[pc++];
+                    var argc = code[pc++];
+                    stack[top++] = ev.invoke(slot, argc);
+                }
+                case DROP -> ev.drop(code[pc++]);
+                case BUILTIN -> {
+                    var func = BUILTINS[code[pc++]];
+                    if (func.getArity() == 1) {
+                        stack[top - 1] = func.compute(stack[top - 1], 0.0d);
+                    } else {
+                        top--;
+                        stack[top - 1] = func.compute(stack[top - 1], stack[top]);
+                    }
+                }
+                default -> throw new IllegalStateException("Invalid opcode " + code[pc - 1]);
+            }
+        }
+
+        ev.releaseOperands();
+        return stack[0];
+    }
+
+    /**
+     * @return The number of ints in the instruction array
+     */
+    public int getCodeLength() {
+        return this.code.length;
+    }
+
+    public int getMaxStack() {
+        return this.maxStack;
+    }
+}
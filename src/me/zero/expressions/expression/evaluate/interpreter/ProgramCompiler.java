@@ -0,0 +1,203 @@
+package me.zero.expressions.expression.evaluate.interpreter;
+
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ExpressionVisitor;
+import me.zero.expressions.expression.ast.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static me.zero.expressions.expression.evaluate.interpreter.Program.*;
+
+/**
+ * Lowers an expression into a {@link Program} by emitting the instructions of each node in postfix order.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+final class ProgramCompiler implements ExpressionVisitor<Void> {
+
+    private int[] code;
+    private int length;
+    private double[] constants;
+    private final Map<Long, Integer> constantIndices;
+
+    private int stack;
+    private int maxStack;
+
+    private ProgramCompiler() {
+        this.code = new int[32];
+        this.constants = new double[8];
+        this.constantIndices = new HashMap<>();
+    }
+
+    static Program compile(Expression expression) {
+        var compiler = new ProgramCompiler();
+        expression.accept(compiler);
+        return new Program(Arrays.copyOf(compiler.code, compiler.length),
+            Arrays.copyOf(compiler.constants, compiler.constantIndices.size()), compiler.maxStack);
+    }
+
+    @Override
+    public Void visit(Literal literal) {
+        this.emit(CONST, this.constant(literal.value()), 1);
+        return null;
+    }
+
+    @Override
+    public Void visit(Variable variable) {
+        this.emit(GLOBAL, variable.slot(), 1);
+        return null;
+    }
+
+    @Override
+    public Void visit(LocalVariable variable) {
+        this.emit(LOCAL, variable.slot(), 1);
+        return null;
+    }
+
+    @Override
+    public Void visit(AddSubtract addSubtract) {
+        // Mirrors AddSubtract#eval, including the leading 0.0 of the sum, so both backends agree bit-for-bit
+        this.emit(CONST, this.constant(0.0d), 1);
+        for (var exp : addSubtract.add()) {
+            this.operand(exp, ADD);
+        }
+
+        // The leading 0.0 of the difference can only change the sign of a zero difference, and the sum it's
+        // subtracted from is never -0.0, so it's omitted along with the extra instruction
+        var subtract = addSubtract.subtract().iterator();
+        if (subtract.hasNext()) {
+            var first = subtract.next();
+            if (!subtract.hasNext()) {
+                this.operand(first, SUB);
+                return null;
+            }
+            first.accept(this);
+            while (subtract.hasNext()) {
+                this.operand(subtract.next(), ADD);
+            }
+            this.emit(SUB, -1);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(MultiplyDivide multiplyDivide) {
+        // Multiplying by the initial 1.0 is exact, so the leading constant can be dropped from each product
+        this.product(multiplyDivide.multiply());
+        var divide = multiplyDivide.divide();
+        if (divide.size() == 1) {
+            this.operand(divide.iterator().next(), DIV);
+        } else if (!divide.isEmpty()) {
+            this.product(divide);
+            this.emit(DIV, -1);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(Exponent exponent) {
+        exponent.base().accept(this);
+        this.operand(exponent.power(), POW);
+        return null;
+    }
+
+    @Override
+    public Void visit(RuntimeFunction function) {
+        for (var arg : function.args()) {
+            arg.accept(this);
+            this.emit(PUSH, -1);
+        }
+        this.emit(CALL, 1);
+        this.append(function.slot());
+        this.append(function.args().size());
+        return null;
+    }
+
+    @Override
+    public Void visit(BuiltinFunction function) {
+        for (var arg : function.args()) {
+            arg.accept(this);
+        }
+        this.emit(BUILTIN, function.function().ordinal(), 1 - function.args().size());
+        return null;
+    }
+
+    @Override
+    public Void visit(Let let) {
+        for (var binding : let.bindings()) {
+            binding.accept(this);
+            this.emit(PUSH, -1);
+        }
+        let.body().accept(this);
+        this.emit(DROP, let.bindings().size(), 0);
+        return null;
+    }
+
+    private void product(Iterable<Expression> factors) {
+        var first = true;
+        for (var exp : factors) {
+            if (first) {
+                exp.accept(this);
+                first = false;
+            } else {
+                this.operand(exp, MUL);
+            }
+        }
+        if (first) {
+            this.emit(CONST, this.constant(1.0d), 1);
+        }
+    }
+
+    /**
+     * Emits an arithmetic instruction whose right hand side is the specified expression, reading it directly from
+     * its operand if it's a leaf.
+     *
+     * @param rhs    The right hand side
+     * @param opcode The base opcode of the instruction
+     */
+    private void operand(Expression rhs, int opcode) {
+        if (rhs instanceof Literal literal) {
+            this.emit(opcode + 1 + CONST, this.constant(literal.value()), 0);
+        } else if (rhs instanceof Variable variable) {
+            this.emit(opcode + 1 + GLOBAL, variable.slot(), 0);
+        } else if (rhs instanceof LocalVariable variable) {
+            this.emit(opcode + 1 + LOCAL, variable.slot(), 0);
+        } else {
+            rhs.accept(this);
+            this.emit(opcode, -1);
+        }
+    }
+
+    private int constant(double value) {
+        // Keyed by the raw bits so that 0.0 and -0.0 remain distinct
+        return this.constantIndices.computeIfAbsent(Double.doubleToRawLongBits(value), bits -> {
+            var index = this.constantIndices.size();
+            if (index == this.constants.length) {
+                this.constants = Arrays.copyOf(this.constants, index * 2);
+            }
+            this.constants[index] = value;
+            return index;
+        });
+    }
+
+    private void emit(int opcode, int operand, int delta) {
+        this.emit(opcode, delta);
+        this.append(operand);
+    }
+
+    private void emit(int opcode, int delta) {
+        this.append(opcode);
+        this.stack += delta;
+        this.maxStack = Math.max(this.maxStack, this.stack);
+    }
+
+    private void append(int value) {
+        if (this.length == this.code.length) {
+            this.code = Arrays.copyOf(this.code, this.length * 2);
+        }
+        this.code[this.length++] = value;
+    }
+}
@@ -0,0 +1,21 @@
+package me.zero.expressions.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Brady
+ * @since 10/18/2026
+ */
+@Name("me.zero.expressions.Build")
+@Label("Build")
+@Category("Expressions")
+@Description("Parsing and simplifying the tokens of a statement into an expression")
+public final class BuildEvent extends Event {
+
+    @Label("Source")
+    String source;
+}
@@ -0,0 +1,25 @@
+package me.zero.expressions.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Only evaluations exceeding the threshold are recorded by default, since most take well under a microsecond.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+@Name("me.zero.expressions.Evaluate")
+@Label("Evaluate")
+@Category("Expressions")
+@Description("Evaluating a top-level expression, including any function calls")
+@Threshold("1 ms")
+public final class EvaluateEvent extends Event {
+
+    @Label("Expression")
+    String expression;
+}
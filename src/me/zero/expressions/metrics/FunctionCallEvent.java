@@ -0,0 +1,33 @@
+package me.zero.expressions.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Disabled by default, since enabling it times every call that isn't inlined. Enable it in the recording settings,
+ * ideally with a threshold.
+ * <p>
+ * Calls that were inlined into the calling expression aren't recorded, and inlining is enabled by default, so the
+ * absence of events for a function doesn't mean it was never called. Create the engine with inlining disabled through
+ * {@link me.zero.expressions.expression.SimplificationContext.Builder#setInlining(boolean)} to record every call.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+@Name("me.zero.expressions.FunctionCall")
+@Label("Function Call")
+@Category("Expressions")
+@Description("A call to a user defined function that wasn't inlined, including any nested calls. Inlined calls "
+    + "aren't recorded, disable inlining to record every call.")
+@Enabled(false)
+@Threshold("1 ms")
+public final class FunctionCallEvent extends Event {
+
+    @Label("Function")
+    String function;
+}
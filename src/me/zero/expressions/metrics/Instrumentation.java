@@ -0,0 +1,113 @@
+package me.zero.expressions.metrics;
+
+import me.zero.expressions.expression.SymbolTable;
+import me.zero.expressions.expression.evaluate.Evaluable;
+
+import java.util.Objects;
+
+/**
+ * Reports each stage of compiling and evaluating expressions to JDK Flight Recorder and to the installed
+ * {@link Metrics}. Each stage creates its event and calls {@link #start()} before doing any work, then passes both
+ * to the matching method here once it's done. Events that aren't enabled in a recording cost next to nothing, and
+ * stages aren't timed for metrics unless an implementation other than {@link Metrics#NONE} is installed.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public final class Instrumentation {
+
+    // Never committed, only used to check whether their event types are enabled
+    private static final EvaluateEvent EVALUATE = new EvaluateEvent();
+    private static final FunctionCallEvent FUNCTION_CALL = new FunctionCallEvent();
+
+    private static volatile Metrics metrics = Metrics.NONE;
+
+    private Instrumentation() {}
+
+    /**
+     * @param metrics The metrics receiving every measurement, or {@link Metrics#NONE} to stop timing stages
+     */
+    public static void setMetrics(Metrics metrics) {
+        Instrumentation.metrics = Objects.requireNonNull(metrics);
+    }
+
+    public static Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return Whether evaluations and function calls currently need to be measured, either for a recording or for
+     *         the installed metrics. Evaluators check this once per evaluation, so they can skip measuring calls
+     *         entirely otherwise.
+     */
+    public static boolean isEvaluationEnabled() {
+        return metrics != Metrics.NONE || EVALUATE.isEnabled() || FUNCTION_CALL.isEnabled();
+    }
+
+    /**
+     * @return The start time of a stage, or {@code 0} if no metrics are installed and the stage doesn't need timing
+     */
+    public static long start() {
+        return metrics != Metrics.NONE ? System.nanoTime() : 0L;
+    }
+
+    public static void tokenized(TokenizeEvent event, CharSequence source, int tokens, long start) {
+        if (event.shouldCommit()) {
+            event.length = source.length();
+            event.tokens = tokens;
+            event.commit();
+        }
+        var metrics = Instrumentation.metrics;
+        if (start != 0L && metrics != Metrics.NONE) {
+            metrics.tokenized(source, tokens, System.nanoTime() - start);
+        }
+    }
+
+    public static void convertedToPostfix(PostfixEvent event, int tokens, long start) {
+        if (event.shouldCommit()) {
+            event.tokens = tokens;
+            event.commit();
+        }
+        var metrics = Instrumentation.metrics;
+        if (start != 0L && metrics != Metrics.NONE) {
+            metrics.convertedToPostfix(tokens, System.nanoTime() - start);
+        }
+    }
+
+    public static void built(BuildEvent event, String source, long start) {
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.commit();
+        }
+        var metrics = Instrumentation.metrics;
+        if (start != 0L && metrics != Metrics.NONE) {
+            metrics.built(source, System.nanoTime() - start);
+        }
+    }
+
+    public static void evaluated(EvaluateEvent event, Evaluable evaluable, long start) {
+        if (event.shouldCommit()) {
+            event.expression = evaluable.toString();
+            event.commit();
+        }
+        var metrics = Instrumentation.metrics;
+        if (start != 0L && metrics != Metrics.NONE) {
+            metrics.evaluated(evaluable, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @param symbols The function symbols, which the name of the function is only resolved from if it's reported
+     * @param slot    The function slot
+     */
+    public static void called(FunctionCallEvent event, SymbolTable symbols, int slot, long start) {
+        if (event.shouldCommit()) {
+            event.function = symbols.name(slot);
+            event.commit();
+        }
+        var metrics = Instrumentation.metrics;
+        if (start != 0L && metrics != Metrics.NONE) {
+            metrics.called(symbols.name(slot), System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package me.zero.expressions.metrics;
+
+import me.zero.expressions.expression.evaluate.Evaluable;
+
+/**
+ * Receives the duration of each stage of compiling and evaluating expressions, for example to aggregate them into
+ * an application's own metrics. Install an implementation with {@link Instrumentation#setMetrics(Metrics)}. Every
+ * method may be called from any thread, concurrently, and is called on the hot path of the stage it measures, so
+ * implementations should do as little work as possible.
+ * <p>
+ * While {@link #NONE} is installed, stages aren't timed at all.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public interface Metrics {
+
+    /**
+     * Ignores every measurement.
+     */
+    Metrics NONE = new Metrics() {};
+
+    /**
+     * @param source The tokenized source text
+     * @param tokens The number of tokens produced
+     * @param nanos  The time taken
+     */
+    default void tokenized(CharSequence source, int tokens, long nanos) {}
+
+    /**
+     * @param tokens The number of infix tokens converted
+     * @param nanos  The time taken
+     */
+    default void convertedToPostfix(int tokens, long nanos) {}
+
+    /**
+     * Parsing and simplifying the tokens of a statement into an expression.
+     *
+     * @param source The statement source
+     * @param nanos  The time taken
+     */
+    default void built(String source, long nanos) {}
+
+    /**
+     * @param evaluable The evaluated top-level expression
+     * @param nanos     The time taken, including any function calls
+     */
+    default void evaluated(Evaluable evaluable, long nanos) {}
+
+    /**
+     * A call to a user defined function. Calls that were inlined into the calling expression no longer exist when it's
+     * evaluated, so they aren't reported. Inlining is enabled by default, so a function that's missing from these
+     * reports may still have been called; to report every call, create the engine with inlining disabled through
+     * {@link me.zero.expressions.expression.SimplificationContext.Builder#setInlining(boolean)}.
+     *
+     * @param function The function name
+     * @param nanos    The time taken, including any nested calls
+     */
+    default void called(String function, long nanos) {}
+}
@@ -0,0 +1,21 @@
+package me.zero.expressions.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Brady
+ * @since 10/18/2026
+ */
+@Name("me.zero.expressions.Postfix")
+@Label("Convert to Postfix")
+@Category("Expressions")
+@Description("Converting infix tokens to postfix order")
+public final class PostfixEvent extends Event {
+
+    @Label("Tokens")
+    int tokens;
+}
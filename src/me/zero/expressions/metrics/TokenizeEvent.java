@@ -0,0 +1,24 @@
+package me.zero.expressions.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author Brady
+ * @since 10/18/2026
+ */
+@Name("me.zero.expressions.Tokenize")
+@Label("Tokenize")
+@Category("Expressions")
+@Description("Splitting source text into tokens")
+public final class TokenizeEvent extends Event {
+
+    @Label("Length")
+    int length;
+
+    @Label("Tokens")
+    int tokens;
+}
@@ -0,0 +1,468 @@
+package me.zero.expressions.provider;
+
+import me.zero.expressions.expression.Expression;
+import me.zero.expressions.expression.ast.BuiltinFunction;
+import me.zero.expressions.expression.evaluate.Interval;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The functions that are built into every engine. They're resolved when an expression is built rather than through a
+ * function slot, always compute {@link Math} functions directly, and are pure, so calls with constant arguments are
+ * folded by simplification. Their names are reserved and can't be redefined.
+ *
+ * @author Brady
+ * @since 10/18/2026
+ */
+public enum Builtin implements ExpressionProvider {
+    ABS("abs", "abs") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.abs(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return Math.signum(a);
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.abs();
+        }
+    },
+    SIGN("sign", "signum") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.signum(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 0.0d;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.increasing(Math::signum, 0);
+        }
+    },
+    FLOOR("floor", "floor") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.floor(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 0.0d;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.increasing(Math::floor, 0);
+        }
+    },
+    CEIL("ceil", "ceil") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.ceil(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 0.0d;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.increasing(Math::ceil, 0);
+        }
+    },
+    ROUND("round", "rint") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.rint(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 0.0d;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.increasing(Math::rint, 0);
+        }
+    },
+    SQRT("sqrt", "sqrt") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.sqrt(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 0.5d / result;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.sqrt();
+        }
+    },
+    CBRT("cbrt", "cbrt") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.cbrt(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 1.0d / (3.0d * result * result);
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.increasing(Math::cbrt, 1);
+        }
+    },
+    EXP("exp", "exp") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.exp(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return result;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.increasing(Math::exp, 1).clamp(0.0d, Double.POSITIVE_INFINITY);
+        }
+    },
+    LOG("log", "log") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.log(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 1.0d / a;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.clamp(0.0d, Double.POSITIVE_INFINITY).increasing(Math::log, 1);
+        }
+    },
+    SIN("sin", "sin") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.sin(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return Math.cos(a);
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return periodic(a, Math::sin, Math.PI / 2.0d, -Math.PI / 2.0d);
+        }
+    },
+    COS("cos", "cos") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.cos(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return -Math.sin(a);
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return periodic(a, Math::cos, 0.0d, Math.PI);
+        }
+    },
+    TAN("tan", "tan") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.tan(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 1.0d + result * result;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            // Unbounded wherever the interval may contain one of the poles
+            if (!(a.width() < Math.PI) || a.containsPeriodic(Math.PI / 2.0d, Math.PI)) {
+                return a.isEmpty() ? a : Interval.ENTIRE;
+            }
+            return a.increasing(Math::tan, 1);
+        }
+    },
+    ASIN("asin", "asin") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.asin(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 1.0d / Math.sqrt(1.0d - a * a);
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.clamp(-1.0d, 1.0d).increasing(Math::asin, 1);
+        }
+    },
+    ACOS("acos", "acos") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.acos(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return -1.0d / Math.sqrt(1.0d - a * a);
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.clamp(-1.0d, 1.0d).decreasing(Math::acos, 1).clamp(0.0d, Double.POSITIVE_INFINITY);
+        }
+    },
+    ATAN("atan", "atan") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.atan(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 1.0d / (1.0d + a * a);
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.increasing(Math::atan, 1);
+        }
+    },
+    SINH("sinh", "sinh") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.sinh(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return Math.cosh(a);
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.increasing(Math::sinh, HYPERBOLIC_ULPS);
+        }
+    },
+    COSH("cosh", "cosh") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.cosh(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return Math.sinh(a);
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.abs().increasing(Math::cosh, HYPERBOLIC_ULPS).clamp(1.0d, Double.POSITIVE_INFINITY);
+        }
+    },
+    TANH("tanh", "tanh") {
+        @Override
+        public double compute(double a, double b) {
+            return Math.tanh(a);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return 1.0d - result * result;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            return a.increasing(Math::tanh, HYPERBOLIC_ULPS).clamp(-1.0d, 1.0d);
+        }
+    },
+    MIN("min", "min", 2) {
+        @Override
+        public double compute(double a, double b) {
+            return Math.min(a, b);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            // The first argument is chosen on a tie
+            return (arg == 0) == (a <= b) ? 1.0d : 0.0d;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            if (a.isEmpty() || b.isEmpty()) {
+                return Interval.EMPTY;
+            }
+            return Interval.of(Math.min(a.lo(), b.lo()), Math.min(a.hi(), b.hi()));
+        }
+    },
+    MAX("max", "max", 2) {
+        @Override
+        public double compute(double a, double b) {
+            return Math.max(a, b);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            // The first argument is chosen on a tie
+            return (arg == 0) == (a >= b) ? 1.0d : 0.0d;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            if (a.isEmpty() || b.isEmpty()) {
+                return Interval.EMPTY;
+            }
+            return Interval.of(Math.max(a.lo(), b.lo()), Math.max(a.hi(), b.hi()));
+        }
+    },
+    HYPOT("hypot", "hypot", 2) {
+        @Override
+        public double compute(double a, double b) {
+            return Math.hypot(a, b);
+        }
+
+        @Override
+        public double derivative(int arg, double a, double b, double result) {
+            return (arg == 0 ? a : b) / result;
+        }
+
+        @Override
+        public Interval bound(Interval a, Interval b) {
+            // Increasing in the magnitude of each argument
+            var x = a.abs();
+            var y = b.abs();
+            if (x.isEmpty() || y.isEmpty()) {
+                return Interval.EMPTY;
+            }
+            return Interval.around(Math.hypot(x.lo(), y.lo()), 1).hull(Interval.around(Math.hypot(x.hi(), y.hi()), 1))
+                .clamp(0.0d, Double.POSITIVE_INFINITY);
+        }
+    };
+
+    /**
+     * The maximum error of the hyperbolic functions of {@link Math}, rounded up to whole ulps.
+     */
+    private static final int HYPERBOLIC_ULPS = 3;
+
+    private final String name;
+    private final String method;
+    private final int arity;
+
+    Builtin(String name, String method) {
+        this(name, method, 1);
+    }
+
+    Builtin(String name, String method, int arity) {
+        this.name = name;
+        this.method = method;
+        this.arity = arity;
+    }
+
+    /**
+     * @param a The first argument
+     * @param b The second argument, or {@code 0.0} if the function only accepts one
+     * @return The result of the function
+     */
+    public abstract double compute(double a, double b);
+
+    /**
+     * @param arg    The index of the argument to differentiate with respect to
+     * @param a      The first argument
+     * @param b      The second argument, or {@code 0.0} if the function only accepts one
+     * @param result The result of {@link #compute(double, double)} for the arguments
+     * @return The partial derivative of the function with respect to the argument
+     */
+    public abstract double derivative(int arg, double a, double b, double result);
+
+    /**
+     * @param a The range of the first argument
+     * @param b The range of the second argument, or {@code null} if the function only accepts one
+     * @return A range containing the result of the function for every combination of arguments within the ranges
+     */
+    public abstract Interval bound(Interval a, Interval b);
+
+    @Override
+    public Expression apply(Expression... args) {
+        return new BuiltinFunction(this, List.of(args));
+    }
+
+    public final String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The name of the static {@link Math} method computing this function
+     */
+    public final String getMethod() {
+        return this.method;
+    }
+
+    public final int getArity() {
+        return this.arity;
+    }
+
+    /**
+     * Bounds a periodic function with a period of {@code 2 pi} and a range of {@code [-1, 1]}.
+     *
+     * @param maximum The first point at which the function is {@code 1}
+     * @param minimum The first point at which the function is {@code -1}
+     */
+    private static Interval periodic(Interval a, DoubleUnaryOperator function, double maximum, double minimum) {
+        if (a.isEmpty()) {
+            return a;
+        }
+        var period = 2.0d * Math.PI;
+        if (!(a.width() < period)) {
+            return Interval.of(-1.0d, 1.0d);
+        }
+        var range = Interval.around(function.applyAsDouble(a.lo()), 1)
+            .hull(Interval.around(function.applyAsDouble(a.hi()), 1))
+            .clamp(-1.0d, 1.0d);
+        var lo = a.containsPeriodic(minimum, period) ? -1.0d : range.lo();
+        var hi = a.containsPeriodic(maximum, period) ? 1.0d : range.hi();
+        return Interval.of(lo, hi);
+    }
+
+    public static Optional<Builtin> getByName(String name) {
+        for (Builtin b : values()) {
+            if (b.name.equals(name)) {
+                return Optional.of(b);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -6,13 +6,22 @@ import java.util.Optional;
 import java.util.function.Predicate;
 
 /**
+ * @param offset The index in the source text of the first character of this token, or {@code -1} if unknown
  * @author Brady
  * @since 6/20/2022
  */
-public record Token(Type type, String value) {
+public record Token(Type type, String value, int offset) {
+
+    public Token(Type type, String value) {
+        this(type, value, -1);
+    }
 
     public Token(Operator operator) {
-        this(Type.OPERATOR, operator.name());
+        this(operator, -1);
+    }
+
+    public Token(Operator operator, int offset) {
+        this(Type.OPERATOR, operator.name(), offset);
     }
 
     public double doubleValue() {
@@ -38,14 +47,14 @@ public record Token(Type type, String value) {
 
     public Token toUnary() {
         var op = this.operator();
-        return op != null ? new Token(op.toUnary()) : null;
+        return op != null && op.toUnary() != null ? new Token(op.toUnary(), this.offset) : null;
     }
 
     public Token hintArgs(int args) {
         if (this.type != Type.FUNCTION) {
             throw new UnsupportedOperationException("Argument hint can only be applied to FUNCTION type");
         }
-        return new Token(this.type, this.value + "/" + args);
+        return new Token(this.type, this.value + "/" + args, this.offset);
     }
 
     public String functionName() {
@@ -1,5 +1,8 @@
 package me.zero.expressions.tokenizer;
 
+import me.zero.expressions.metrics.Instrumentation;
+import me.zero.expressions.metrics.PostfixEvent;
+import me.zero.expressions.metrics.TokenizeEvent;
 import me.zero.expressions.provider.Operator;
 
 import java.util.ArrayDeque;
@@ -17,7 +20,17 @@ public final class Tokenizer {
 
     private Tokenizer() {}
 
+    /**
+     * Converts infix tokens to postfix order with the shunting yard algorithm. Expressions are no longer built from
+     * postfix tokens, but this is kept for callers that consume the token form directly.
+     *
+     * @param infix The infix tokens
+     * @return The postfix tokens, with argument counts hinted onto FUNCTION tokens
+     */
     public static List<Token> convertToPostfix(List<Token> infix) {
+        var event = new PostfixEvent();
+        event.begin();
+        var start = Instrumentation.start();
         var output = new ArrayList<Token>();
         var stack = new ArrayDeque<Token>();
         var arity = new ArrayDeque<Integer>();
@@ -59,7 +72,7 @@ public final class Tokenizer {
                     // Only pop the right left parenthesis if we're coming from the right parenthesis
                     if (token.type() == RIGHT_PARENTHESIS) {
                         stack.pop();
-                        if (stack.peek().type() == FUNCTION) {
+                        if (!stack.isEmpty() && stack.peek().type() == FUNCTION) {
                             output.add(stack.pop().hintArgs(noargs ? 0 : arity.pop()));
                         }
                     } else {
@@ -76,243 +89,226 @@ public final class Tokenizer {
             output.add(stack.pop());
         }
 
+        Instrumentation.convertedToPostfix(event, infix.size(), start);
         return output;
     }
 
-    public static List<Token> tokenize(final String infix) {
-        // Remove all whitespace
-        var str = infix.replaceAll("\s", "");
-
-        var t = new State();
-
-        for (var ch : str.toCharArray()) {
-            Token.Type.getType(ch).ifPresentOrElse(
-                type -> {
-                    // Various cases to be handled before adding type token
-                    switch (type) {
-                        case LITERAL -> t.numBuffer.append(ch);
-                        case VARIABLE -> {
-                            t.pushNum();
-                            t.letBuffer.append(ch);
-                        }
-                        case OPERATOR -> {
-                            if (!t.pushNum()) {
-                                t.pushVars();
-                            }
-                        }
-                        case LEFT_PARENTHESIS -> {
-                            if (!t.pushFunction()) {
-                                t.pushNum();
-                            }
-                        }
-                        case RIGHT_PARENTHESIS, ARGUMENT_SEPARATOR, EQUALS -> t.flush();
-                    }
-
-                    // Add unbuffered token immediately
-                    if (!type.isBuffered()) {
-                        t.push(type, ch);
-                    }
-                },
-                () -> {
-                    throw new IllegalArgumentException("Invalid token found: %s".formatted(ch));
-                }
-            );
-        }
-
-        // Flush buffers
-        t.flush();
-
-        // Apply various fixes
-        convertToUnary(t);
-        combineBuiltinVars(t);
-        implicitMultiplication(t);
-
-        // Validate, then return if successful (An exception will be thrown)
-        return validate(t.tokens);
+    /**
+     * Splits an infix expression into tokens in a single pass. Unary operators are resolved and implicit
+     * multiplication is inserted as tokens are produced, and every token records its offset in the source text.
+     * Whitespace is ignored entirely, including between the characters of a number or name.
+     *
+     * @param infix The infix expression
+     * @return The tokens
+     */
+    public static List<Token> tokenize(final CharSequence infix) {
+        var event = new TokenizeEvent();
+        event.begin();
+        var start = Instrumentation.start();
+        var lexer = new Lexer(infix);
+        lexer.run();
+        Instrumentation.tokenized(event, infix, lexer.tokens.size(), start);
+        return lexer.tokens;
     }
 
-    private static void convertToUnary(State t) {
-        var nextUnary = true;
-
-        for (int i = 0; i < t.tokens.size(); i++) {
-            var token = t.tokens.get(i);
-
-            Token unary;
-            if (nextUnary && (unary = token.toUnary()) != null) {
-                token = unary;
-                t.tokens.set(i, token);
-            }
-
-            nextUnary = switch (token.type()) {
-                case OPERATOR, LEFT_PARENTHESIS, ARGUMENT_SEPARATOR -> true;
-                default -> false;
-            };
+    private static final byte INVALID = 0;
+    private static final byte WHITESPACE = 1;
+    private static final byte DIGIT = 2;
+    private static final byte LETTER = 3;
+    private static final byte OPERATOR_CHAR = 4;
+    private static final byte LEFT = 5;
+    private static final byte RIGHT = 6;
+    private static final byte SEPARATOR = 7;
+    private static final byte EQUALS_CHAR = 8;
+
+    private static final byte[] CHAR_CLASSES = new byte[128];
+    private static final Operator[] OPERATORS = new Operator[128];
+
+    static {
+        // Matches the \s regex character class
+        for (var ch : " \t\n\u000B\f\r".toCharArray()) {
+            CHAR_CLASSES[ch] = WHITESPACE;
         }
-    }
-
-    private static void combineBuiltinVars(State t) {
-        var name = new StringBuilder();
-        for (var token : t.tokens) {
-            if (token.type() == VARIABLE) {
-                name.append(token.value());
-                // TODO: Merge sequential variables into single for predefined (p, i) -> pi
-            } else {
-                name.setLength(0);
+        for (int ch = 0; ch < CHAR_CLASSES.length; ch++) {
+            if (LITERAL.acceptsChar((char) ch)) {
+                CHAR_CLASSES[ch] = DIGIT;
+            } else if (VARIABLE.acceptsChar((char) ch)) {
+                CHAR_CLASSES[ch] = LETTER;
+            } else if (Operator.isOperator((char) ch)) {
+                CHAR_CLASSES[ch] = OPERATOR_CHAR;
+                OPERATORS[ch] = Operator.getBySymbol((char) ch).orElseThrow();
             }
         }
+        CHAR_CLASSES['('] = LEFT;
+        CHAR_CLASSES[')'] = RIGHT;
+        CHAR_CLASSES[','] = SEPARATOR;
+        CHAR_CLASSES['='] = EQUALS_CHAR;
     }
 
-    private static void implicitMultiplication(State t) {
-        var patterns = new Token.Type[][] {
-            {VARIABLE,          VARIABLE},          // xx        => x*x
-            {VARIABLE,          LEFT_PARENTHESIS},  // x(5)      => x*(5)
-            {LITERAL,           VARIABLE},          // 5x        => 5*x
-            {LITERAL,           FUNCTION},          // 5sin(5)   => 5*sin(5)
-            {LITERAL,           LEFT_PARENTHESIS},  // 5(5)      => 5*(5)
-            {RIGHT_PARENTHESIS, VARIABLE},          // (5)x      => (5)*x
-            {RIGHT_PARENTHESIS, LITERAL},           // (5)5      => (5)*5
-            {RIGHT_PARENTHESIS, LEFT_PARENTHESIS},  // (5)(5)    => (5)*(5)
-            {RIGHT_PARENTHESIS, FUNCTION},          // (5)sin(5) => (5)*sin(5)
+    private static boolean isImplicitMultiplication(Token.Type prev, Token.Type next) {
+        return switch (prev) {
+            case VARIABLE -> next == VARIABLE            // xx        => x*x
+                || next == LEFT_PARENTHESIS;             // x(5)      => x*(5)
+            case LITERAL -> next == VARIABLE             // 5x        => 5*x
+                || next == FUNCTION                      // 5sin(5)   => 5*sin(5)
+                || next == LEFT_PARENTHESIS;             // 5(5)      => 5*(5)
+            case RIGHT_PARENTHESIS -> next == VARIABLE   // (5)x      => (5)*x
+                || next == LITERAL                       // (5)5      => (5)*5
+                || next == LEFT_PARENTHESIS              // (5)(5)    => (5)*(5)
+                || next == FUNCTION;                     // (5)sin(5) => (5)*sin(5)
+            default -> false;
         };
-        outer:
-        while (true) {
-            for (var pattern : patterns) {
-                int index = findPattern(t.tokens, pattern);
-                if (index >= 0) {
-                    t.insertOperator(index + 1, Operator.MULTIPLY);
-                    continue outer;
-                }
-            }
-            break;
-        }
     }
 
-    private static List<Token> validate(List<Token> tokens) {
-        if (tokens.get(0).type() == RIGHT_PARENTHESIS || tokens.get(0).type() == ARGUMENT_SEPARATOR) {
-            throw new IllegalStateException("Expression cannot start with RIGHT_PARENTHESIS or ARGUMENT_SEPARATOR");
-        }
+    private static final class Lexer {
 
-        // Confirm matching parenthesis
-        int right = 0;
-        int left = 0;
-        for (var token : tokens) {
-            switch (token.type()) {
-                case RIGHT_PARENTHESIS -> right++;
-                case LEFT_PARENTHESIS -> left++;
-            }
-        }
-        if (right != left) {
-            throw new IllegalStateException("Mismatched parenthesis");
-        }
+        private final CharSequence source;
+        private final List<Token> tokens;
 
-        // Check for invalid token type patterns
-        var invalid = new Token.Type[][] {
-            {VARIABLE, LITERAL} // x5
-        };
-        for (var pattern : invalid) {
-            int index = findPattern(tokens, pattern);
-            if (index >= 0) {
-                throw new IllegalStateException(
-                    "Encountered invalid pattern in tokenized expression! %s".formatted(Arrays.toString(pattern))
-                );
-            }
-        }
+        // The pending run of digits or letters, which may be interrupted by whitespace
+        private final StringBuilder run;
+        private int[] runOffsets;
+        private byte runType;
 
-        // Verify LITERAL token value
-        for (var token : tokens) {
-            if (token.type() == LITERAL) {
-                try {
-                    token.doubleValue();
-                } catch (NumberFormatException e) {
-                    throw new IllegalStateException("Token doesn't represent a valid number", e);
-                }
-            }
+        private Token last;
+        private int depth;
+
+        private Lexer(CharSequence source) {
+            this.source = source;
+            this.tokens = new ArrayList<>(source.length());
+            this.run = new StringBuilder();
+            this.runOffsets = new int[16];
         }
-        return tokens;
-    }
 
-    private static int findPattern(List<Token> tokens, Token.Type... types) {
-        outer:
-        for (var i = 0; i <= tokens.size() - types.length; i++) {
-            var offset = 0;
-            var matched = 0;
-            while (matched < types.length) {
-                var index = i + offset++;
-                if (index >= tokens.size()) {
-                    continue outer;
-                }
-                var token = tokens.get(index);
-                if (types[matched] != token.type()) {
-                    continue outer;
+        private void run() {
+            for (int i = 0; i < this.source.length(); i++) {
+                var ch = this.source.charAt(i);
+                var type = ch < CHAR_CLASSES.length ? CHAR_CLASSES[ch] : INVALID;
+
+                switch (type) {
+                    case WHITESPACE -> {}
+                    case DIGIT -> {
+                        if (this.runType == LETTER) {
+                            throw new IllegalStateException(
+                                "Encountered invalid pattern in tokenized expression! %s".formatted(Arrays.toString(
+                                    new Token.Type[] {VARIABLE, LITERAL}))
+                            );
+                        }
+                        this.append(DIGIT, ch, i);
+                    }
+                    case LETTER -> {
+                        if (this.runType == DIGIT) {
+                            this.flush();
+                        }
+                        this.append(LETTER, ch, i);
+                    }
+                    case LEFT -> {
+                        if (this.runType == LETTER) {
+                            // Letters directly followed by a parenthesis name a function
+                            this.emit(new Token(FUNCTION, this.run.toString(), this.runOffsets[0]));
+                            this.clearRun();
+                        } else {
+                            this.flush();
+                        }
+                        this.depth++;
+                        this.emit(new Token(LEFT_PARENTHESIS, "(", i));
+                    }
+                    case RIGHT -> {
+                        this.flush();
+                        if (--this.depth < 0) {
+                            throw new IllegalStateException("Mismatched parenthesis");
+                        }
+                        this.emit(new Token(RIGHT_PARENTHESIS, ")", i));
+                    }
+                    case SEPARATOR -> {
+                        this.flush();
+                        this.emit(new Token(ARGUMENT_SEPARATOR, ",", i));
+                    }
+                    case EQUALS_CHAR -> {
+                        this.flush();
+                        this.emit(new Token(EQUALS, "=", i));
+                    }
+                    case OPERATOR_CHAR -> {
+                        this.flush();
+                        this.emitOperator(OPERATORS[ch], i);
+                    }
+                    default -> throw new IllegalArgumentException("Invalid token found: %s".formatted(ch));
                 }
-                matched++;
             }
-            return i;
-        }
-        return -1;
-    }
+            this.flush();
 
-    private record State(List<Token> tokens, StringBuffer numBuffer, StringBuffer letBuffer) {
-
-        private State() {
-            this(new ArrayList<>(), new StringBuffer(), new StringBuffer());
-        }
-
-        private void insert(int index, Token.Type type, String value) {
-            this.tokens.add(index, new Token(type, value));
-        }
-
-        private void insertOperator(int index, Operator op) {
-            insert(index, OPERATOR, op.name());
-        }
-
-        private void push(Token.Type type, String value) {
-            this.tokens.add(new Token(type, value));
+            if (this.tokens.isEmpty()) {
+                throw new IllegalStateException("Expression cannot be empty");
+            }
+            if (this.depth != 0) {
+                throw new IllegalStateException("Mismatched parenthesis");
+            }
         }
 
-        private void push(Token.Type type, char value) {
-            if (type == OPERATOR) {
-                this.push(type, String.valueOf(Operator.getBySymbol(value).orElseThrow()));
-            } else {
-                this.push(type, String.valueOf(value));
+        private void append(byte type, char ch, int offset) {
+            var length = this.run.length();
+            if (length == this.runOffsets.length) {
+                this.runOffsets = Arrays.copyOf(this.runOffsets, length * 2);
             }
+            this.runOffsets[length] = offset;
+            this.run.append(ch);
+            this.runType = type;
         }
 
         private void flush() {
-            this.pushNum();
-            this.pushVars();
-        }
-
-        private boolean pushNum() {
-            if (this.numBuffer.isEmpty()) {
-                return false;
+            switch (this.runType) {
+                case DIGIT -> {
+                    var value = this.run.toString();
+                    try {
+                        Double.parseDouble(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalStateException("Token doesn't represent a valid number", e);
+                    }
+                    this.emit(new Token(LITERAL, value, this.runOffsets[0]));
+                }
+                case LETTER -> {
+                    // TODO: Merge sequential variables into single for predefined (p, i) -> pi
+                    for (int i = 0; i < this.run.length(); i++) {
+                        this.emit(new Token(VARIABLE, String.valueOf(this.run.charAt(i)), this.runOffsets[i]));
+                    }
+                }
+                default -> {
+                    return;
+                }
             }
-
-            this.push(Token.Type.LITERAL, this.numBuffer.toString());
-            this.numBuffer.setLength(0);
-            return true;
+            this.clearRun();
         }
 
-        private boolean pushVars() {
-            if (this.letBuffer.isEmpty()) {
-                return false;
-            }
+        private void clearRun() {
+            this.run.setLength(0);
+            this.runType = INVALID;
+        }
 
-            for (char var : this.letBuffer.toString().toCharArray()) {
-                this.push(Token.Type.VARIABLE, var);
+        private void emitOperator(Operator operator, int offset) {
+            // An operator is unary at the start of an expression, argument or parenthesized group, or after another operator
+            var unary = this.last == null || switch (this.last.type()) {
+                case OPERATOR, LEFT_PARENTHESIS, ARGUMENT_SEPARATOR, EQUALS -> true;
+                default -> false;
+            };
+            if (unary) {
+                if (operator.toUnary() == null) {
+                    throw new IllegalStateException("Operator %s cannot be used as a unary operator".formatted(operator.getSymbol()));
+                }
+                operator = operator.toUnary();
             }
-            this.letBuffer.setLength(0);
-            return true;
+            this.emit(new Token(operator, offset));
         }
 
-        private boolean pushFunction() {
-            if (this.letBuffer.isEmpty()) {
-                return false;
+        private void emit(Token token) {
+            if (this.last == null) {
+                if (token.type() == RIGHT_PARENTHESIS || token.type() == ARGUMENT_SEPARATOR) {
+                    throw new IllegalStateException("Expression cannot start with RIGHT_PARENTHESIS or ARGUMENT_SEPARATOR");
+                }
+            } else if (isImplicitMultiplication(this.last.type(), token.type())) {
+                this.tokens.add(new Token(Operator.MULTIPLY, token.offset()));
             }
-
-            this.push(Token.Type.FUNCTION, this.letBuffer.toString());
-            this.letBuffer.setLength(0);
-            return true;
+            this.tokens.add(token);
+            this.last = token;
         }
     }
 }